@@ -0,0 +1,264 @@
+package com.toao.quicklearner;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A WeightMatrix read in place from a ChunkedBuffer, either a mapped model file or memory off the heap, so a model of
+ * any size is scored without decoding it into Java objects.
+ *
+ * The section starts with the number of models, rows and hash table slots, a padding int and the total number of
+ * chars in the feature names, followed by
+ *
+ * <ul>
+ * <li>the bias of each model, as doubles</li>
+ * <li>the hash table, the row in each slot (-1 if the slot is empty) and then the hash of each slot's feature, as
+ * ints, laid out as a FeatureIndex</li>
+ * <li>the start of each row's feature name in the name chars, and the end of the last, as longs</li>
+ * <li>for each row, the weight and then the offset of every model, as doubles</li>
+ * <li>the feature names' UTF-16 chars, padded to a multiple of 8 bytes</li>
+ * </ul>
+ */
+public class BufferWeightMatrix extends WeightMatrix
+{
+	private final ChunkedBuffer buffer;
+	private final int models;
+	private final int rows;
+	private final int mask;
+	private final int shift;
+
+	private final long biasStart;
+	private final long slotRowsStart;
+	private final long slotHashesStart;
+	private final long nameStartsStart;
+	private final long rowsStart;
+	private final long namesStart;
+
+	protected BufferWeightMatrix(ChunkedBuffer buffer, long start)
+	{
+		this.buffer = buffer;
+		this.models = buffer.getInt(start);
+		this.rows = buffer.getInt(start + 4);
+
+		int slots = buffer.getInt(start + 8);
+
+		this.mask = slots - 1;
+		this.shift = 32 - Integer.numberOfTrailingZeros(slots);
+
+		this.biasStart = start + 24;
+		this.slotRowsStart = biasStart + 8L * models;
+		this.slotHashesStart = slotRowsStart + 4L * slots;
+		this.nameStartsStart = slotHashesStart + 4L * slots;
+		this.rowsStart = nameStartsStart + 8L * (rows + 1);
+		this.namesStart = rowsStart + 16L * rows * models;
+	}
+
+	/**
+	 * The number of bytes write takes for the weights.
+	 */
+	protected static long size(WeightMatrix weights)
+	{
+		long models = weights.getModelCount();
+		long rows = weights.getRowCount();
+		long slots = FeatureIndex.capacityFor(weights.getRowCount());
+		long names = 0;
+
+		for (int row = 0; row < rows; row++)
+		{
+			names += weights.getFeature(row).length();
+		}
+
+		return 24 + 8 * models + 8 * slots + 8 * (rows + 1) + 16 * rows * models + ModelFile.align(2 * names);
+	}
+
+	/**
+	 * Writes the weights in the layout read by the constructor, out being at a multiple of 8 bytes.
+	 */
+	protected static void write(WeightMatrix weights, ModelFile.Output out) throws IOException
+	{
+		int models = weights.getModelCount();
+		int rows = weights.getRowCount();
+		int slots = FeatureIndex.capacityFor(rows);
+		int shift = 32 - Integer.numberOfTrailingZeros(slots);
+
+		int[] slotRows = new int[slots];
+		int[] slotHashes = new int[slots];
+		long names = 0;
+
+		Arrays.fill(slotRows, -1);
+
+		for (int row = 0; row < rows; row++)
+		{
+			String feature = weights.getFeature(row);
+			int hash = feature.hashCode();
+			int slot = FeatureIndex.firstSlot(hash, shift);
+
+			while (slotRows[slot] >= 0)
+			{
+				slot = (slot + 1) & (slots - 1);
+			}
+
+			slotRows[slot] = row;
+			slotHashes[slot] = hash;
+			names += feature.length();
+		}
+
+		out.writeInt(models);
+		out.writeInt(rows);
+		out.writeInt(slots);
+		out.writeInt(0);
+		out.writeLong(names);
+
+		for (int m = 0; m < models; m++)
+		{
+			out.writeDouble(weights.getBias(m));
+		}
+
+		for (int slot = 0; slot < slots; slot++)
+		{
+			out.writeInt(slotRows[slot]);
+		}
+
+		for (int slot = 0; slot < slots; slot++)
+		{
+			out.writeInt(slotHashes[slot]);
+		}
+
+		long nameStart = 0;
+
+		for (int row = 0; row < rows; row++)
+		{
+			out.writeLong(nameStart);
+			nameStart += weights.getFeature(row).length();
+		}
+
+		out.writeLong(nameStart);
+
+		for (int row = 0; row < rows; row++)
+		{
+			for (int m = 0; m < models; m++)
+			{
+				out.writeDouble(weights.getWeight(row, m));
+			}
+
+			for (int m = 0; m < models; m++)
+			{
+				out.writeDouble(weights.getOffset(row, m));
+			}
+		}
+
+		for (int row = 0; row < rows; row++)
+		{
+			out.writeChars(weights.getFeature(row));
+		}
+
+		out.pad();
+	}
+
+	@Override
+	protected int getModelCount()
+	{
+		return models;
+	}
+
+	@Override
+	protected int getRowCount()
+	{
+		return rows;
+	}
+
+	@Override
+	protected String getFeature(int row)
+	{
+		long nameStart = buffer.getLong(nameStartsStart + 8L * row);
+		long nameEnd = buffer.getLong(nameStartsStart + 8L * (row + 1));
+
+		return ModelFile.readChars(buffer, namesStart + 2 * nameStart, (int) (nameEnd - nameStart));
+	}
+
+	@Override
+	protected int getRow(String feature)
+	{
+		int hash = feature.hashCode();
+		int slot = FeatureIndex.firstSlot(hash, shift);
+
+		while (true)
+		{
+			int row = buffer.getInt(slotRowsStart + 4L * slot);
+
+			if (row < 0)
+			{
+				return -1;
+			}
+
+			if (buffer.getInt(slotHashesStart + 4L * slot) == hash && nameEquals(row, feature))
+			{
+				return row;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private boolean nameEquals(int row, String feature)
+	{
+		long nameStart = buffer.getLong(nameStartsStart + 8L * row);
+		long nameEnd = buffer.getLong(nameStartsStart + 8L * (row + 1));
+
+		if (nameEnd - nameStart != feature.length())
+		{
+			return false;
+		}
+
+		long position = namesStart + 2 * nameStart;
+
+		for (int i = 0; i < feature.length(); i++)
+		{
+			if (buffer.getChar(position + 2 * i) != feature.charAt(i))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	protected double getBias(int model)
+	{
+		return buffer.getDouble(biasStart + 8L * model);
+	}
+
+	@Override
+	protected double getWeight(int row, int model)
+	{
+		return buffer.getDouble(rowsStart + 16L * row * models + 8L * model);
+	}
+
+	@Override
+	protected double getOffset(int row, int model)
+	{
+		return buffer.getDouble(rowsStart + 16L * row * models + 8L * (models + model));
+	}
+
+	@Override
+	protected void setBias(double[] logits, int offset)
+	{
+		for (int m = 0; m < models; m++)
+		{
+			logits[offset + m] = buffer.getDouble(biasStart + 8L * m);
+		}
+	}
+
+	@Override
+	protected void addRow(int row, double value, double[] logits, int offset)
+	{
+		final long weightsStart = rowsStart + 16L * row * models;
+		final long offsetsStart = weightsStart + 8L * models;
+
+		for (int m = 0; m < models; m++)
+		{
+			logits[offset + m] += buffer.getDouble(weightsStart + 8L * m) * value + buffer.getDouble(offsetsStart + 8L * m);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.toao.quicklearner;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Wraps a Learner with a bounded cache of the label probabilities of the feature maps it has classified, for traffic
+ * that repeats the same features. A built Learner never changes, so a cached result is always the one the wrapped
+ * learner would give.
+ *
+ * The cache is keyed on an immutable copy of the feature map and evicts the least recently used entries once it holds
+ * maximumSize of them. It is split into segments that are locked independently, so concurrent callers don't contend
+ * on a single lock. Hits, misses and evictions are counted in getCacheStats().
+ */
+public class CachingLearner extends Learner
+{
+	private final Learner learner;
+	private final LoadingCache<ImmutableMap<String, Double>, double[]> cache;
+
+	public CachingLearner(final Learner learner, long maximumSize)
+	{
+		checkNotNull(learner);
+		checkArgument(maximumSize > 0, "Cache size must be positive.");
+
+		this.learner = learner;
+		this.accuracy = learner.getAccuracy();
+		this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build(new CacheLoader<ImmutableMap<String, Double>, double[]>()
+		{
+			@Override
+			public double[] load(ImmutableMap<String, Double> features)
+			{
+				double[] probabilities = new double[learner.getLabels().size()];
+
+				learner.labelProbabilities(features, probabilities, 0);
+
+				return probabilities;
+			}
+		});
+	}
+
+	public CacheStats getCacheStats()
+	{
+		return cache.stats();
+	}
+
+	@Override
+	public String classify(Map<String, Double> features)
+	{
+		double[] probabilities = cached(features);
+
+		return getLabels().get(bestLabel(probabilities, 0));
+	}
+
+	@Override
+	public Map<String, Double> getLabelProbabilities(Map<String, Double> features)
+	{
+		double[] probabilities = cached(features);
+
+		Map<String, Double> labelProbs = Maps.newHashMap();
+
+		for (int c = 0; c < probabilities.length; c++)
+		{
+			labelProbs.put(getLabels().get(c), probabilities[c]);
+		}
+
+		return labelProbs;
+	}
+
+	@Override
+	protected void labelProbabilities(Map<String, Double> features, double[] probabilities, int offset)
+	{
+		double[] cached = cached(features);
+
+		System.arraycopy(cached, 0, probabilities, offset, cached.length);
+	}
+
+	@Override
+	public List<String> getLabels()
+	{
+		return learner.getLabels();
+	}
+
+	@Override
+	public FeatureVector encode(Map<String, Double> features)
+	{
+		return learner.encode(features);
+	}
+
+	@Override
+	protected void labelProbabilities(FeatureVector features, double[] probabilities, int offset)
+	{
+		// Encoded features are already cheap to score, so they aren't cached
+		learner.labelProbabilities(features, probabilities, offset);
+	}
+
+	@Override
+	public byte[] serialise()
+	{
+		return learner.serialise();
+	}
+
+	@Override
+	public void writeTo(OutputStream out) throws IOException
+	{
+		learner.writeTo(out);
+	}
+
+	@Override
+	public void save(Path path) throws IOException
+	{
+		learner.save(path);
+	}
+
+	/**
+	 * The cached probabilities for the features, which must not be modified.
+	 */
+	private double[] cached(Map<String, Double> features)
+	{
+		return cache.getUnchecked(ImmutableMap.copyOf(features));
+	}
+}
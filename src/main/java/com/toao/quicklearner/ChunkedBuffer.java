@@ -0,0 +1,186 @@
+package com.toao.quicklearner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A region larger than the 2GB a single ByteBuffer can address, as a run of ByteBuffers of CHUNK_SIZE bytes each
+ * addressed by a long position. The region is either a memory mapped file or allocated off the heap, in which case it
+ * is filled once through getOutputStream() and then only read.
+ *
+ * CHUNK_SIZE is a multiple of 8, so a value read at a position aligned to its own size never straddles two chunks.
+ * Every value stored in a model file is aligned that way.
+ */
+public class ChunkedBuffer
+{
+	private static Logger sLogger = LoggerFactory.getLogger(ChunkedBuffer.class);
+
+	protected static final int CHUNK_BITS = 30;
+	protected static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+	private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final ByteBuffer[] chunks;
+	private final long size;
+	private volatile boolean freed = false;
+
+	protected ChunkedBuffer(ByteBuffer[] chunks, long size)
+	{
+		this.chunks = chunks;
+		this.size = size;
+	}
+
+	/**
+	 * Maps the first size bytes of the channel read only. The mapping stays valid after the channel is closed.
+	 */
+	protected static ChunkedBuffer map(FileChannel channel, long size) throws IOException
+	{
+		ByteBuffer[] chunks = new ByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+
+		for (int c = 0; c < chunks.length; c++)
+		{
+			long start = c * CHUNK_SIZE;
+
+			chunks[c] = channel.map(MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, size - start));
+		}
+
+		return new ChunkedBuffer(chunks, size);
+	}
+
+	/**
+	 * Allocates size bytes outside of the Java heap, which the garbage collector never scans or copies.
+	 */
+	protected static ChunkedBuffer allocateDirect(long size)
+	{
+		ByteBuffer[] chunks = new ByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+
+		for (int c = 0; c < chunks.length; c++)
+		{
+			chunks[c] = ByteBuffer.allocateDirect((int) Math.min(CHUNK_SIZE, size - c * CHUNK_SIZE));
+		}
+
+		return new ChunkedBuffer(chunks, size);
+	}
+
+	/**
+	 * A stream writing the buffer's bytes in order from the start.
+	 */
+	protected OutputStream getOutputStream()
+	{
+		return new OutputStream()
+		{
+			private long position = 0;
+
+			@Override
+			public void write(int b)
+			{
+				chunk(position).put((int) (position & CHUNK_MASK), (byte) b);
+				position++;
+			}
+
+			@Override
+			public void write(byte[] bytes, int offset, int length)
+			{
+				while (length > 0)
+				{
+					ByteBuffer chunk = chunk(position).duplicate();
+					int start = (int) (position & CHUNK_MASK);
+					int count = Math.min(length, chunk.capacity() - start);
+
+					// Through Buffer, as ByteBuffer only overrides position from Java 9
+					((Buffer) chunk).position(start);
+					chunk.put(bytes, offset, count);
+
+					position += count;
+					offset += count;
+					length -= count;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Releases the memory of a buffer from allocateDirect straight away rather than when it is garbage collected. Any
+	 * later read throws an IllegalStateException.
+	 */
+	protected synchronized void free()
+	{
+		if (freed)
+		{
+			return;
+		}
+
+		// Published before the memory is released, so any read starting after this fails rather than touching it
+		freed = true;
+
+		for (int c = 0; c < chunks.length; c++)
+		{
+			if (chunks[c] != null && chunks[c].isDirect())
+			{
+				invokeCleaner(chunks[c]);
+			}
+
+			chunks[c] = null;
+		}
+	}
+
+	private static void invokeCleaner(ByteBuffer buffer)
+	{
+		try
+		{
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+
+			theUnsafe.setAccessible(true);
+
+			unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+		}
+		catch (Exception e)
+		{
+			// Without access to the cleaner the memory is released once the buffer is garbage collected
+			sLogger.debug("free - unable to release direct buffer early: {}", e.toString());
+		}
+	}
+
+	private ByteBuffer chunk(long position)
+	{
+		if (freed)
+		{
+			throw new IllegalStateException("The buffer's memory has been released.");
+		}
+
+		return chunks[(int) (position >>> CHUNK_BITS)];
+	}
+
+	protected long size()
+	{
+		return size;
+	}
+
+	protected int getInt(long position)
+	{
+		return chunk(position).getInt((int) (position & CHUNK_MASK));
+	}
+
+	protected long getLong(long position)
+	{
+		return chunk(position).getLong((int) (position & CHUNK_MASK));
+	}
+
+	protected double getDouble(long position)
+	{
+		return chunk(position).getDouble((int) (position & CHUNK_MASK));
+	}
+
+	protected char getChar(long position)
+	{
+		return chunk(position).getChar((int) (position & CHUNK_MASK));
+	}
+}
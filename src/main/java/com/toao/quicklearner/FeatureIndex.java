@@ -0,0 +1,147 @@
+package com.toao.quicklearner;
+
+import java.util.Arrays;
+
+/**
+ * Maps feature names to dense ids, 0 upwards in the order they were added, for the weight arrays of a model.
+ *
+ * It is an open-addressing hash table with linear probing held in two int arrays, one of ids and one of the names'
+ * hashes, so a lookup touches a couple of adjacent slots and only dereferences a String when its hash matches. Unlike a
+ * map from String to Integer there are no entry objects or boxed ids. The table is kept at most half full.
+ */
+public class FeatureIndex
+{
+	private static final int MIN_CAPACITY = 16;
+
+	private String[] features;
+	private int[] slotIds;
+	private int[] slotHashes;
+	private int size = 0;
+	private int shift;
+
+	protected FeatureIndex(int expectedSize)
+	{
+		features = new String[Math.max(expectedSize, 1)];
+
+		allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * Returns the feature's id, giving it the next one if it hasn't been added before.
+	 */
+	protected int add(String feature)
+	{
+		int hash = feature.hashCode();
+		int slot = find(feature, hash);
+
+		if (slotIds[slot] >= 0)
+		{
+			return slotIds[slot];
+		}
+
+		if (size == features.length)
+		{
+			features = Arrays.copyOf(features, 2 * size);
+		}
+
+		int id = size++;
+
+		features[id] = feature;
+		slotIds[slot] = id;
+		slotHashes[slot] = hash;
+
+		if (2 * size > slotIds.length)
+		{
+			rehash();
+		}
+
+		return id;
+	}
+
+	/**
+	 * The feature's id, or -1 if it isn't in the index.
+	 */
+	protected int get(String feature)
+	{
+		return slotIds[find(feature, feature.hashCode())];
+	}
+
+	protected int size()
+	{
+		return size;
+	}
+
+	protected String getFeature(int id)
+	{
+		return features[id];
+	}
+
+	/**
+	 * The slot holding the feature, or the empty slot where it would be added.
+	 */
+	private int find(String feature, int hash)
+	{
+		final int mask = slotIds.length - 1;
+
+		int slot = firstSlot(hash, shift);
+
+		while (true)
+		{
+			int id = slotIds[slot];
+
+			if (id < 0 || (slotHashes[slot] == hash && features[id].equals(feature)))
+			{
+				return slot;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * The slot a hash is first looked for in, in a table of 2^(32 - shift) slots.
+	 */
+	protected static int firstSlot(int hash, int shift)
+	{
+		// Fibonacci hashing spreads the String hash's low-entropy bits over the slot range
+		return (hash * 0x9E3779B9) >>> shift;
+	}
+
+	private void rehash()
+	{
+		allocate(2 * slotIds.length);
+
+		for (int id = 0; id < size; id++)
+		{
+			int hash = features[id].hashCode();
+			int slot = find(features[id], hash);
+
+			slotIds[slot] = id;
+			slotHashes[slot] = hash;
+		}
+	}
+
+	private void allocate(int capacity)
+	{
+		slotIds = new int[capacity];
+		slotHashes = new int[capacity];
+		shift = 32 - Integer.numberOfTrailingZeros(capacity);
+
+		Arrays.fill(slotIds, -1);
+	}
+
+	/**
+	 * The number of slots, a power of two, for a table that holds expectedSize features at most half full.
+	 */
+	protected static int capacityFor(int expectedSize)
+	{
+		int capacity = MIN_CAPACITY;
+
+		while (capacity < 2 * expectedSize)
+		{
+			capacity *= 2;
+		}
+
+		return capacity;
+	}
+}
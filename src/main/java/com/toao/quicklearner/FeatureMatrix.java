@@ -0,0 +1,232 @@
+package com.toao.quicklearner;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * The training examples packed into a compressed sparse row (CSR) matrix. Feature names and labels are interned into
+ * integer ids as examples are added, so the trainers can iterate primitive arrays rather than hashing feature names on
+ * every pass.
+ *
+ * The non-zero features of row r are held at positions rowPtr[r] to rowPtr[r + 1] - 1 of colIdx (the feature id) and
+ * values (the feature value). While every feature added has been binary there is no values array at all, every value
+ * is 1.0. The bias is implicit: feature id BIAS is reserved for it and has the value 1.0 in every row without being
+ * stored. A FeatureMatrix is immutable once built and may be shared between threads.
+ */
+public class FeatureMatrix
+{
+	/** The id of the implicit bias feature. */
+	protected static final int BIAS = 0;
+
+	protected static final String BIAS_NAME = "_bias";
+
+	private final List<String> features;
+	private final List<String> labels;
+
+	private final int rows;
+	private final int[] rowPtr;
+	private final int[] colIdx;
+	private final double[] values;
+	private final int[] labelIdx;
+
+	private FeatureMatrix(List<String> features, List<String> labels, int rows, int[] rowPtr, int[] colIdx, double[] values, int[] labelIdx)
+	{
+		this.features = ImmutableList.copyOf(features);
+		this.labels = ImmutableList.copyOf(labels);
+		this.rows = rows;
+		this.rowPtr = rowPtr;
+		this.colIdx = colIdx;
+		this.values = values;
+		this.labelIdx = labelIdx;
+	}
+
+	protected int getRowCount()
+	{
+		return rows;
+	}
+
+	protected int getFeatureCount()
+	{
+		return features.size();
+	}
+
+	protected int getNonZeroCount()
+	{
+		return rowPtr[rows];
+	}
+
+	protected String getFeature(int id)
+	{
+		return features.get(id);
+	}
+
+	protected List<String> getLabels()
+	{
+		return labels;
+	}
+
+	protected int getLabel(int row)
+	{
+		return labelIdx[row];
+	}
+
+	protected int getRowStart(int row)
+	{
+		return rowPtr[row];
+	}
+
+	protected int getRowEnd(int row)
+	{
+		return rowPtr[row + 1];
+	}
+
+	protected int getColumn(int pos)
+	{
+		return colIdx[pos];
+	}
+
+	protected double getValue(int pos)
+	{
+		return values == null ? 1.0 : values[pos];
+	}
+
+	/**
+	 * Accumulates rows into growable primitive arrays. Building a FeatureMatrix doesn't copy them and the builder only
+	 * ever appends past the end of what was built, so rows can still be added afterwards.
+	 */
+	protected static class Builder
+	{
+		private final Map<String, Integer> featureIds = Maps.newHashMap();
+		private final List<String> features = Lists.newArrayList();
+
+		private final Map<String, Integer> labelIds = Maps.newHashMap();
+		private final List<String> labels = Lists.newArrayList();
+
+		private int rows = 0;
+		private int nonZeros = 0;
+		private int[] rowPtr = new int[16];
+		private int[] colIdx = new int[64];
+		private double[] values = null;
+		private int[] labelIdx = new int[16];
+
+		protected Builder()
+		{
+			featureIds.put(BIAS_NAME, BIAS);
+			features.add(BIAS_NAME);
+		}
+
+		protected Builder addRow(String label, Map<String, Double> rowFeatures)
+		{
+			checkArgument(!rowFeatures.containsKey(BIAS_NAME), "The feature name %s is reserved.", BIAS_NAME);
+
+			startRow(label, rowFeatures.size());
+
+			for (Entry<String, Double> e : rowFeatures.entrySet())
+			{
+				addFeature(e.getKey(), e.getValue());
+			}
+
+			return endRow();
+		}
+
+		protected Builder addRow(String label, Set<String> rowFeatures)
+		{
+			checkArgument(!rowFeatures.contains(BIAS_NAME), "The feature name %s is reserved.", BIAS_NAME);
+
+			startRow(label, rowFeatures.size());
+
+			for (String feature : rowFeatures)
+			{
+				addFeature(feature, 1.0);
+			}
+
+			return endRow();
+		}
+
+		protected int getRowCount()
+		{
+			return rows;
+		}
+
+		protected FeatureMatrix build()
+		{
+			return new FeatureMatrix(features, labels, rows, rowPtr, colIdx, values, labelIdx);
+		}
+
+		private void startRow(String label, int size)
+		{
+			if (rows + 2 > rowPtr.length)
+			{
+				rowPtr = Arrays.copyOf(rowPtr, rowPtr.length * 2);
+				labelIdx = Arrays.copyOf(labelIdx, labelIdx.length * 2);
+			}
+
+			if (nonZeros + size > colIdx.length)
+			{
+				int capacity = Math.max(colIdx.length * 2, nonZeros + size);
+
+				colIdx = Arrays.copyOf(colIdx, capacity);
+
+				if (values != null)
+				{
+					values = Arrays.copyOf(values, capacity);
+				}
+			}
+
+			Integer id = labelIds.get(label);
+
+			if (id == null)
+			{
+				id = labels.size();
+				labelIds.put(label, id);
+				labels.add(label);
+			}
+
+			labelIdx[rows] = id;
+		}
+
+		private void addFeature(String feature, double value)
+		{
+			Integer id = featureIds.get(feature);
+
+			if (id == null)
+			{
+				id = features.size();
+				featureIds.put(feature, id);
+				features.add(feature);
+			}
+
+			if (values == null && value != 1.0)
+			{
+				// The first non-binary value, from here on every value has to be stored
+				values = new double[colIdx.length];
+				Arrays.fill(values, 0, nonZeros, 1.0);
+			}
+
+			colIdx[nonZeros] = id;
+
+			if (values != null)
+			{
+				values[nonZeros] = value;
+			}
+
+			nonZeros++;
+		}
+
+		private Builder endRow()
+		{
+			rows++;
+			rowPtr[rows] = nonZeros;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.toao.quicklearner;
+
+/**
+ * The mean and standard deviation of every feature over a set of rows of a FeatureMatrix.
+ *
+ * Statistics are gathered in a single pass over the non-zeros using Welford's update, keeping the count, mean and sum
+ * of squared deviations of each feature's non-zero values. The rows where a feature is absent are zeros and are folded
+ * in when the mean and standard deviation are read. Statistics for disjoint sets of rows can be combined with plus, and
+ * those for a subset removed again with minus, so a cross-validation fold can be derived from the full training set by
+ * scanning only the held out rows.
+ */
+public class FeatureStatistics
+{
+	private final int rows;
+	private final int[] count;
+	private final double[] mean;
+	private final double[] m2;
+
+	private FeatureStatistics(int rows, int[] count, double[] mean, double[] m2)
+	{
+		this.rows = rows;
+		this.count = count;
+		this.mean = mean;
+		this.m2 = m2;
+	}
+
+	protected static FeatureStatistics of(FeatureMatrix data, int[] rows)
+	{
+		int numFeatures = data.getFeatureCount();
+
+		int[] count = new int[numFeatures];
+		double[] mean = new double[numFeatures];
+		double[] m2 = new double[numFeatures];
+
+		for (final int row : rows)
+		{
+			for (int j = data.getRowStart(row); j < data.getRowEnd(row); j++)
+			{
+				int idx = data.getColumn(j);
+				double val = data.getValue(j);
+
+				count[idx]++;
+
+				double delta = val - mean[idx];
+				mean[idx] += delta / count[idx];
+				m2[idx] += delta * (val - mean[idx]);
+			}
+		}
+
+		// The implicit bias is 1.0 in every row
+		count[FeatureMatrix.BIAS] = rows.length;
+		mean[FeatureMatrix.BIAS] = 1.0;
+
+		return new FeatureStatistics(rows.length, count, mean, m2);
+	}
+
+	/**
+	 * The statistics of the union of these rows and other's, which must not overlap.
+	 */
+	protected FeatureStatistics plus(FeatureStatistics other)
+	{
+		int numFeatures = count.length;
+
+		int[] newCount = new int[numFeatures];
+		double[] newMean = new double[numFeatures];
+		double[] newM2 = new double[numFeatures];
+
+		for (int c = 0; c < numFeatures; c++)
+		{
+			int n = count[c] + other.count[c];
+
+			newCount[c] = n;
+
+			if (n > 0)
+			{
+				double delta = other.mean[c] - mean[c];
+
+				newMean[c] = mean[c] + delta * other.count[c] / n;
+				newM2[c] = m2[c] + other.m2[c] + delta * delta * ((double) count[c] * other.count[c]) / n;
+			}
+		}
+
+		return new FeatureStatistics(rows + other.rows, newCount, newMean, newM2);
+	}
+
+	/**
+	 * The statistics of these rows with other's removed, other's rows must be a subset of these.
+	 */
+	protected FeatureStatistics minus(FeatureStatistics other)
+	{
+		int numFeatures = count.length;
+
+		int[] newCount = new int[numFeatures];
+		double[] newMean = new double[numFeatures];
+		double[] newM2 = new double[numFeatures];
+
+		for (int c = 0; c < numFeatures; c++)
+		{
+			int n = count[c] - other.count[c];
+
+			newCount[c] = n;
+
+			if (n > 0)
+			{
+				double remainingMean = (count[c] * mean[c] - other.count[c] * other.mean[c]) / n;
+				double delta = other.mean[c] - remainingMean;
+
+				newMean[c] = remainingMean;
+				newM2[c] = Math.max(0.0, m2[c] - other.m2[c] - delta * delta * ((double) n * other.count[c]) / count[c]);
+			}
+		}
+
+		return new FeatureStatistics(rows - other.rows, newCount, newMean, newM2);
+	}
+
+	protected int getRowCount()
+	{
+		return rows;
+	}
+
+	/**
+	 * Whether the feature has a non-zero value in any of the rows.
+	 */
+	protected boolean isPresent(int feature)
+	{
+		return count[feature] > 0;
+	}
+
+	protected double getMean(int feature)
+	{
+		return count[feature] * mean[feature] / rows;
+	}
+
+	protected double getStdDev(int feature)
+	{
+		// Fold the absent rows, all zeros, into the non-zero values' squared deviations
+		double n = count[feature];
+		double sumSquares = m2[feature] + mean[feature] * mean[feature] * n * (rows - n) / rows;
+
+		return Math.sqrt(Math.max(0.0, sumSquares / rows));
+	}
+}
@@ -0,0 +1,48 @@
+package com.toao.quicklearner;
+
+/**
+ * An example's features encoded against one learner's feature dictionary, as the dictionary's ids of the features the
+ * learner knows and their values. Features the learner has no weights for are dropped when encoding.
+ *
+ * A vector can be scored any number of times by the learner that encoded it with no string hashing. It must not be
+ * given to any other learner, as the ids mean nothing there.
+ */
+public class FeatureVector
+{
+	private final Object dictionary;
+	private final int[] ids;
+	private final double[] values;
+
+	protected FeatureVector(Object dictionary, int[] ids, double[] values)
+	{
+		this.dictionary = dictionary;
+		this.ids = ids;
+		this.values = values;
+	}
+
+	/**
+	 * Whether the vector was encoded against the dictionary.
+	 */
+	protected boolean isEncodedBy(Object dictionary)
+	{
+		return this.dictionary == dictionary;
+	}
+
+	/**
+	 * The number of known features in the vector.
+	 */
+	public int size()
+	{
+		return ids.length;
+	}
+
+	protected int getId(int i)
+	{
+		return ids[i];
+	}
+
+	protected double getValue(int i)
+	{
+		return values[i];
+	}
+}
@@ -0,0 +1,129 @@
+package com.toao.quicklearner;
+
+import java.util.List;
+
+/**
+ * A WeightMatrix held in Java arrays: a FeatureIndex for the dictionary, and the weights and offsets of feature row
+ * and model at row * models + model.
+ */
+public class HeapWeightMatrix extends WeightMatrix
+{
+	private final FeatureIndex featureIdx;
+	private final int models;
+	private final double[] weights;
+	private final double[] offsets;
+	private final double[] bias;
+
+	protected HeapWeightMatrix(List<LogisticInternalLearner> internalLearners)
+	{
+		this.models = internalLearners.size();
+
+		FeatureIndex idx = new FeatureIndex(internalLearners.isEmpty() ? 0 : internalLearners.get(0).getFeatureCount());
+
+		// The matrix row of each model's features, by their id in the model
+		int[][] rows = new int[models][];
+
+		for (int m = 0; m < models; m++)
+		{
+			LogisticInternalLearner learner = internalLearners.get(m);
+
+			rows[m] = new int[learner.getFeatureCount()];
+
+			for (int i = 0; i < rows[m].length; i++)
+			{
+				rows[m][i] = idx.add(learner.getFeature(i));
+			}
+		}
+
+		this.featureIdx = idx;
+		this.weights = new double[idx.size() * models];
+		this.offsets = new double[idx.size() * models];
+		this.bias = new double[models];
+
+		for (int m = 0; m < models; m++)
+		{
+			LogisticInternalLearner learner = internalLearners.get(m);
+
+			bias[m] = learner.getBias();
+
+			for (int i = 0; i < rows[m].length; i++)
+			{
+				int pos = rows[m][i] * models + m;
+
+				weights[pos] = learner.getWeight(i);
+				offsets[pos] = learner.getOffset(i);
+			}
+		}
+	}
+
+	/**
+	 * Wraps already interleaved weights and offsets, with the features' rows given by featureIdx.
+	 */
+	protected HeapWeightMatrix(FeatureIndex featureIdx, int models, double[] weights, double[] offsets, double[] bias)
+	{
+		this.featureIdx = featureIdx;
+		this.models = models;
+		this.weights = weights;
+		this.offsets = offsets;
+		this.bias = bias;
+	}
+
+	@Override
+	protected int getModelCount()
+	{
+		return models;
+	}
+
+	@Override
+	protected int getRowCount()
+	{
+		return featureIdx.size();
+	}
+
+	@Override
+	protected String getFeature(int row)
+	{
+		return featureIdx.getFeature(row);
+	}
+
+	@Override
+	protected int getRow(String feature)
+	{
+		return featureIdx.get(feature);
+	}
+
+	@Override
+	protected double getBias(int model)
+	{
+		return bias[model];
+	}
+
+	@Override
+	protected double getWeight(int row, int model)
+	{
+		return weights[row * models + model];
+	}
+
+	@Override
+	protected double getOffset(int row, int model)
+	{
+		return offsets[row * models + model];
+	}
+
+	@Override
+	protected void setBias(double[] logits, int offset)
+	{
+		System.arraycopy(bias, 0, logits, offset, models);
+	}
+
+	@Override
+	protected void addRow(int row, double value, double[] logits, int offset)
+	{
+		final int start = row * models;
+
+		for (int m = 0; m < models; m++)
+		{
+			logits[offset + m] += weights[start + m] * value + offsets[start + m];
+		}
+	}
+}
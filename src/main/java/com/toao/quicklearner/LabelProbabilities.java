@@ -0,0 +1,79 @@
+package com.toao.quicklearner;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+/**
+ * The label probabilities for a batch of examples, held in a single flat array with one row of label probabilities
+ * per example. Labels are identified by their position in getLabels().
+ */
+public class LabelProbabilities
+{
+	private final List<String> labels;
+	private final double[] probabilities;
+
+	protected LabelProbabilities(List<String> labels, double[] probabilities)
+	{
+		this.labels = ImmutableList.copyOf(labels);
+		this.probabilities = probabilities;
+	}
+
+	public List<String> getLabels()
+	{
+		return labels;
+	}
+
+	/**
+	 * The number of examples.
+	 */
+	public int size()
+	{
+		return probabilities.length / labels.size();
+	}
+
+	public double get(int example, int label)
+	{
+		return probabilities[example * labels.size() + label];
+	}
+
+	public double get(int example, String label)
+	{
+		return get(example, labels.indexOf(label));
+	}
+
+	/**
+	 * The position in getLabels() of the most probable label for the example.
+	 */
+	public int getBestLabel(int example)
+	{
+		int best = 0;
+
+		for (int c = 1; c < labels.size(); c++)
+		{
+			if (get(example, c) > get(example, best))
+			{
+				best = c;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * The example's probabilities in the same form as Learner.getLabelProbabilities.
+	 */
+	public Map<String, Double> toMap(int example)
+	{
+		Map<String, Double> labelProbs = Maps.newHashMap();
+
+		for (int c = 0; c < labels.size(); c++)
+		{
+			labelProbs.put(labels.get(c), get(example, c));
+		}
+
+		return labelProbs;
+	}
+}
@@ -0,0 +1,187 @@
+package com.toao.quicklearner;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A WeightMatrix over a model serialised as a CompactLogistic, which only decodes the feature dictionary, and each
+ * model's weights and offsets, from the serialised bytes the first time they are needed. Loading it costs a scan for
+ * where each part starts, so a large model is ready quickly and a caller asking about a few labels only ever decodes
+ * those labels' weights.
+ *
+ * Each part is decoded exactly once, under a lock of its own, and then read without locking. A model's weights are
+ * kept by feature row, as read from its LabelWeights message, rather than interleaved with the other models'.
+ */
+public class LazyWeightMatrix extends WeightMatrix
+{
+	private final byte[] model;
+	private final int rows;
+	private final int featuresStart;
+	private final int featuresEnd;
+	private final double[] bias;
+	private final int[] weightsStarts;
+	private final int[] weightsLengths;
+
+	private final Object dictionaryLock = new Object();
+	private volatile FeatureIndex featureIdx = null;
+
+	private final Object[] columnLocks;
+	private final AtomicReferenceArray<Column> columns;
+
+	/**
+	 * The rows features lie between featuresStart and featuresEnd in model, and each model's LabelWeights message
+	 * takes weightsLengths bytes from weightsStarts.
+	 */
+	protected LazyWeightMatrix(byte[] model, int rows, int featuresStart, int featuresEnd, double[] bias, int[] weightsStarts, int[] weightsLengths)
+	{
+		this.model = model;
+		this.rows = rows;
+		this.featuresStart = featuresStart;
+		this.featuresEnd = featuresEnd;
+		this.bias = bias;
+		this.weightsStarts = weightsStarts;
+		this.weightsLengths = weightsLengths;
+
+		this.columnLocks = new Object[bias.length];
+		this.columns = new AtomicReferenceArray<Column>(bias.length);
+
+		for (int m = 0; m < bias.length; m++)
+		{
+			columnLocks[m] = new Object();
+		}
+	}
+
+	private FeatureIndex dictionary()
+	{
+		FeatureIndex idx = featureIdx;
+
+		if (idx == null)
+		{
+			synchronized (dictionaryLock)
+			{
+				idx = featureIdx;
+
+				if (idx == null)
+				{
+					try
+					{
+						idx = ModelStream.readFeatures(model, featuresStart, featuresEnd - featuresStart, rows);
+					}
+					catch (IOException e)
+					{
+						throw new IllegalStateException("Unable to decode the model's features", e);
+					}
+
+					featureIdx = idx;
+				}
+			}
+		}
+
+		return idx;
+	}
+
+	private Column column(int m)
+	{
+		Column column = columns.get(m);
+
+		if (column == null)
+		{
+			synchronized (columnLocks[m])
+			{
+				column = columns.get(m);
+
+				if (column == null)
+				{
+					column = new Column(rows);
+
+					try
+					{
+						ModelStream.readLabelWeights(model, weightsStarts[m], weightsLengths[m], column.weights, column.offsets);
+					}
+					catch (IOException e)
+					{
+						throw new IllegalStateException("Unable to decode the weights of model " + m, e);
+					}
+
+					columns.set(m, column);
+				}
+			}
+		}
+
+		return column;
+	}
+
+	@Override
+	protected int getModelCount()
+	{
+		return bias.length;
+	}
+
+	@Override
+	protected int getRowCount()
+	{
+		return rows;
+	}
+
+	@Override
+	protected String getFeature(int row)
+	{
+		return dictionary().getFeature(row);
+	}
+
+	@Override
+	protected int getRow(String feature)
+	{
+		return dictionary().get(feature);
+	}
+
+	@Override
+	protected double getBias(int model)
+	{
+		return bias[model];
+	}
+
+	@Override
+	protected double getWeight(int row, int model)
+	{
+		return column(model).weights[row];
+	}
+
+	@Override
+	protected double getOffset(int row, int model)
+	{
+		return column(model).offsets[row];
+	}
+
+	@Override
+	protected void setBias(double[] logits, int offset)
+	{
+		System.arraycopy(bias, 0, logits, offset, bias.length);
+	}
+
+	@Override
+	protected void addRow(int row, double value, double[] logits, int offset)
+	{
+		for (int m = 0; m < bias.length; m++)
+		{
+			Column column = column(m);
+
+			logits[offset + m] += column.weights[row] * value + column.offsets[row];
+		}
+	}
+
+	/**
+	 * One model's decoded weights and offsets, by feature row.
+	 */
+	private static class Column
+	{
+		final double[] weights;
+		final double[] offsets;
+
+		Column(int rows)
+		{
+			this.weights = new double[rows];
+			this.offsets = new double[rows];
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package com.toao.quicklearner;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Trains with the limited memory BFGS quasi-Newton method and a backtracking (Armijo) line search. Each iteration is
+ * a full pass over the data, like batch gradient descent, but far fewer iterations are needed to converge.
+ *
+ * The objective minimised is the mean logistic cost plus regulariser / (2 * examples) times the squared weights, whose
+ * gradient is the one batch gradient descent steps along.
+ */
+public class LbfgsLogisticTrainer extends LogisticTrainer
+{
+	private static Logger sLogger = LoggerFactory.getLogger(LbfgsLogisticTrainer.class);
+
+	/** The sufficient decrease constant for the line search. */
+	private static final double ARMIJO = 1e-4;
+
+	private final int memory;
+	private final int maxIterations;
+	private final double tolerance;
+
+	public LbfgsLogisticTrainer()
+	{
+		this(10, 200, 1e-6);
+	}
+
+	/**
+	 * @param memory the number of recent steps kept to approximate the inverse Hessian
+	 * @param maxIterations the maximum number of iterations (each one or more passes over the data)
+	 * @param tolerance stop once an iteration improves the objective by less than this, relative to its size
+	 */
+	public LbfgsLogisticTrainer(int memory, int maxIterations, double tolerance)
+	{
+		checkArgument(memory > 0, "Must remember at least one step.");
+		checkArgument(maxIterations > 0, "Must allow at least one iteration.");
+
+		this.memory = memory;
+		this.maxIterations = maxIterations;
+		this.tolerance = tolerance;
+	}
+
+	@Override
+	protected double[] optimise(LogisticObjective objective, double regulariser, double learningRate, double[] initialOmega)
+	{
+		int numFeatures = objective.getFeatureCount();
+
+		double[] omega = initialOmega;
+		double[] gradient = new double[numFeatures];
+		double[] nextOmega = new double[numFeatures];
+		double[] nextGradient = new double[numFeatures];
+		double[] direction = new double[numFeatures];
+
+		// Ring buffers of the most recent steps and gradient changes
+		double[][] s = new double[memory][numFeatures];
+		double[][] y = new double[memory][numFeatures];
+		double[] rho = new double[memory];
+		double[] alpha = new double[memory];
+		int stored = 0;
+		int newest = -1;
+
+		double cost = evaluate(objective, regulariser, omega, gradient);
+
+		for (int i = 0; i < maxIterations; i++)
+		{
+			// Two loop recursion for direction = -H * gradient
+			for (int c = 0; c < numFeatures; c++)
+			{
+				direction[c] = -gradient[c];
+			}
+
+			for (int k = 0; k < stored; k++)
+			{
+				int m = (newest - k + memory) % memory;
+
+				alpha[m] = rho[m] * dot(s[m], direction);
+				axpy(-alpha[m], y[m], direction);
+			}
+
+			if (stored > 0)
+			{
+				double gamma = dot(s[newest], y[newest]) / dot(y[newest], y[newest]);
+
+				for (int c = 0; c < numFeatures; c++)
+				{
+					direction[c] *= gamma;
+				}
+			}
+
+			for (int k = stored - 1; k >= 0; k--)
+			{
+				int m = (newest - k + memory) % memory;
+
+				double beta = rho[m] * dot(y[m], direction);
+				axpy(alpha[m] - beta, s[m], direction);
+			}
+
+			double slope = dot(gradient, direction);
+
+			if (slope >= 0.0)
+			{
+				// Not a descent direction, start again from steepest descent
+				sLogger.debug("build - resetting L-BFGS memory at iteration {}", i);
+
+				for (int c = 0; c < numFeatures; c++)
+				{
+					direction[c] = -gradient[c];
+				}
+
+				slope = dot(gradient, direction);
+				stored = 0;
+			}
+
+			if (slope == 0.0)
+			{
+				break;
+			}
+
+			// The first step has no curvature information to scale it, so keep it short
+			double step = stored == 0 ? Math.min(1.0, 1.0 / Math.sqrt(-slope)) : 1.0;
+			double nextCost;
+
+			while (true)
+			{
+				for (int c = 0; c < numFeatures; c++)
+				{
+					nextOmega[c] = omega[c] + step * direction[c];
+				}
+
+				nextCost = evaluate(objective, regulariser, nextOmega, nextGradient);
+
+				if (nextCost <= cost + ARMIJO * step * slope || step < 1e-10)
+				{
+					break;
+				}
+
+				step *= 0.5;
+			}
+
+			sLogger.debug("build - cost at iteration {} = {}, step {}", new Object[] { i, nextCost, step });
+
+			if (nextCost > cost)
+			{
+				// The line search failed to make progress, we're as close as we can get
+				break;
+			}
+
+			newest = (newest + 1) % memory;
+
+			for (int c = 0; c < numFeatures; c++)
+			{
+				s[newest][c] = nextOmega[c] - omega[c];
+				y[newest][c] = nextGradient[c] - gradient[c];
+			}
+
+			double curvature = dot(s[newest], y[newest]);
+
+			if (curvature > 1e-10)
+			{
+				rho[newest] = 1.0 / curvature;
+				stored = Math.min(stored + 1, memory);
+			}
+			else
+			{
+				// Drop this pair, it would make the approximation indefinite. If the buffer was full it overwrote the
+				// oldest pair, so that one is gone too.
+				newest = (newest - 1 + memory) % memory;
+				stored = Math.min(stored, memory - 1);
+			}
+
+			double improvement = cost - nextCost;
+
+			double[] tmp = omega;
+			omega = nextOmega;
+			nextOmega = tmp;
+
+			tmp = gradient;
+			gradient = nextGradient;
+			nextGradient = tmp;
+
+			cost = nextCost;
+
+			if (improvement <= tolerance * Math.max(1.0, Math.abs(cost)))
+			{
+				break;
+			}
+		}
+
+		return omega;
+	}
+
+	/**
+	 * The regularised cost at omega, with its gradient written into gradient.
+	 */
+	private double evaluate(LogisticObjective objective, double regulariser, double[] omega, double[] gradient)
+	{
+		double numExamples = objective.getRowCount();
+		double cost = objective.evaluate(omega, gradient);
+
+		for (int c = 0; c < omega.length; c++)
+		{
+			cost += regulariser / (2 * numExamples) * omega[c] * omega[c];
+			gradient[c] = gradient[c] / numExamples + regulariser / numExamples * omega[c];
+		}
+
+		return cost;
+	}
+
+	private static double dot(double[] a, double[] b)
+	{
+		double sum = 0.0;
+
+		for (int c = 0; c < a.length; c++)
+		{
+			sum += a[c] * b[c];
+		}
+
+		return sum;
+	}
+
+	/**
+	 * to += scale * from
+	 */
+	private static void axpy(double scale, double[] from, double[] to)
+	{
+		for (int c = 0; c < from.length; c++)
+		{
+			to[c] += scale * from[c];
+		}
+	}
+}
@@ -1,40 +1,404 @@
 package com.toao.quicklearner;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import com.google.common.collect.Lists;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
-import com.toao.quicklearner.persistence.LearnerModel.Model;
-import com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType;
 
 public abstract class Learner
 {
+	/** Batches up to this size are scored in a simple loop on the calling thread, larger ones are split up. */
+	private static final int BATCH_THRESHOLD = 512;
+
 	public double accuracy;
 	
 	public abstract String classify(Map<String, Double> features);
 
 	public static Learner load(byte[] savedModel) throws InvalidProtocolBufferException
 	{
-		Model model = Model.parseFrom(savedModel);
-		
-		if( model.getLearnerType().equals(LearnerType.LOGISTIC) )
+		try
 		{
-			return new LogisticLearner(model.getLogistic());
+			return ModelStream.read(CodedInputStream.newInstance(savedModel));
+		}
+		catch( InvalidProtocolBufferException e )
+		{
+			throw e;
+		}
+		catch( IOException e )
+		{
+			// Reading from memory doesn't do I/O
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * As load(byte[]), except that only the labels are decoded up front. The feature dictionary, and each label's
+	 * weights, are decoded from savedModel the first time they're needed, so the cost of loading a large model grows
+	 * with what is actually asked of it. savedModel is kept and must not be modified. Models saved with a dictionary
+	 * per label, or with quantized weights, are decoded in full.
+	 */
+	public static Learner loadLazily(byte[] savedModel) throws InvalidProtocolBufferException
+	{
+		try
+		{
+			return ModelStream.readLazily(savedModel);
+		}
+		catch( InvalidProtocolBufferException e )
+		{
+			throw e;
+		}
+		catch( IOException e )
+		{
+			// Reading from memory doesn't do I/O
+			throw new RuntimeException(e);
 		}
-		
-		throw new RuntimeException("Unable to find matching learner for model type");
 	}
 	
+	/**
+	 * Maps a model file written by save(Path) into memory and scores straight from it, so even a very large model is
+	 * ready as soon as its labels are read. The file must not be modified while the learner is in use.
+	 */
+	public static Learner load(Path path) throws IOException
+	{
+		return ModelFile.map(path);
+	}
+
+	/**
+	 * Reads a model written by writeTo or serialise() from the stream, decoding it a piece at a time so that the
+	 * encoded model is never held in memory. Reads to the end of the stream, which is left open.
+	 */
+	public static Learner load(InputStream in) throws IOException
+	{
+		return ModelStream.read(CodedInputStream.newInstance(in));
+	}
+
 	public abstract byte[] serialise();
+
+	/**
+	 * Writes the same model as serialise() to the stream a piece at a time, without ever holding all of the encoded
+	 * model in memory. The stream is flushed but left open.
+	 */
+	public abstract void writeTo(OutputStream out) throws IOException;
+
+	/**
+	 * Writes the learner as a model file for load(Path).
+	 */
+	public abstract void save(Path path) throws IOException;
 	
 	public abstract Map<String, Double> getLabelProbabilities(Map<String, Double> features);
 	
+	/**
+	 * The probability of just the one label for the features. A LogisticLearner only scores that label's model.
+	 */
+	public double getLabelProbability(Map<String, Double> features, String label)
+	{
+		Double probability = getLabelProbabilities(features).get(label);
+		
+		checkArgument(probability != null, "Unknown label: %s", label);
+		
+		return probability;
+	}
+	
+	/**
+	 * All of the labels the learner can return, in a fixed order.
+	 */
+	public abstract List<String> getLabels();
+
+	/**
+	 * Writes the probability of each label, in getLabels() order, into probabilities starting at offset.
+	 */
+	protected abstract void labelProbabilities(Map<String, Double> features, double[] probabilities, int offset);
+
+	/**
+	 * Classifies the features without allocating, writing the probability of each label in getLabels() order into
+	 * probabilities, which is reusable between calls, and returning the index of the most probable label.
+	 */
+	public int classify(Map<String, Double> features, double[] probabilities)
+	{
+		checkArgument(probabilities.length >= getLabels().size(), "Probabilities must hold one value per label.");
+
+		labelProbabilities(features, probabilities, 0);
+
+		return bestLabel(probabilities, 0);
+	}
+
+	/**
+	 * Encodes the features against this learner's feature dictionary, so they can be classified any number of times
+	 * without looking up feature names. The vector can only be used with this learner.
+	 */
+	public abstract FeatureVector encode(Map<String, Double> features);
+
+	/**
+	 * Writes the probability of each label for the encoded features, in getLabels() order, into probabilities
+	 * starting at offset.
+	 */
+	protected abstract void labelProbabilities(FeatureVector features, double[] probabilities, int offset);
+
+	public String classify(FeatureVector features)
+	{
+		return getLabels().get(classify(features, new double[getLabels().size()]));
+	}
+
+	/**
+	 * As classify(Map, double[]) for features encoded by this learner.
+	 */
+	public int classify(FeatureVector features, double[] probabilities)
+	{
+		checkArgument(probabilities.length >= getLabels().size(), "Probabilities must hold one value per label.");
+
+		labelProbabilities(features, probabilities, 0);
+
+		return bestLabel(probabilities, 0);
+	}
+
+	/**
+	 * The k most probable labels for the features, most probable first. The labels are picked with a heap of size k
+	 * over the label probabilities, so no probability map is built and only k labels are ever sorted.
+	 */
+	public List<ScoredLabel> topK(Map<String, Double> features, int k)
+	{
+		checkArgument(k >= 0, "k must not be negative.");
+
+		int numLabels = getLabels().size();
+		double[] probabilities = new double[numLabels];
+
+		labelProbabilities(features, probabilities, 0);
+
+		int size = Math.min(k, numLabels);
+
+		// A min-heap of label indices, its root the least probable of the best labels seen so far
+		int[] heap = new int[size];
+
+		for( int c = 0 ; c < numLabels ; c++ )
+		{
+			if( c < size )
+			{
+				heap[c] = c;
+				siftUp(heap, c, probabilities);
+			}
+			else if( size > 0 && probabilities[c] > probabilities[heap[0]] )
+			{
+				heap[0] = c;
+				siftDown(heap, 0, size, probabilities);
+			}
+		}
+
+		ScoredLabel[] top = new ScoredLabel[size];
+
+		// Repeatedly taking the root gives the labels least probable first
+		for( int n = size - 1 ; n >= 0 ; n-- )
+		{
+			top[n] = new ScoredLabel(getLabels().get(heap[0]), probabilities[heap[0]]);
+
+			heap[0] = heap[n];
+			siftDown(heap, 0, n, probabilities);
+		}
+
+		return Arrays.asList(top);
+	}
+
+	/**
+	 * Whether label a ranks below label b, with ties going to the lower index.
+	 */
+	private static boolean below(int a, int b, double[] probabilities)
+	{
+		return probabilities[a] < probabilities[b] || (probabilities[a] == probabilities[b] && a > b);
+	}
+
+	private static void siftUp(int[] heap, int i, double[] probabilities)
+	{
+		while( i > 0 )
+		{
+			int parent = (i - 1) >>> 1;
+
+			if( !below(heap[i], heap[parent], probabilities) )
+			{
+				return;
+			}
+
+			int t = heap[i];
+			heap[i] = heap[parent];
+			heap[parent] = t;
+			i = parent;
+		}
+	}
+
+	private static void siftDown(int[] heap, int i, int size, double[] probabilities)
+	{
+		while( true )
+		{
+			int least = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+
+			if( left < size && below(heap[left], heap[least], probabilities) )
+			{
+				least = left;
+			}
+
+			if( right < size && below(heap[right], heap[least], probabilities) )
+			{
+				least = right;
+			}
+
+			if( least == i )
+			{
+				return;
+			}
+
+			int t = heap[i];
+			heap[i] = heap[least];
+			heap[least] = t;
+			i = least;
+		}
+	}
+
+	/**
+	 * The index in getLabels() of the most probable of the label probabilities starting at offset.
+	 */
+	protected int bestLabel(double[] probabilities, int offset)
+	{
+		int best = 0;
+
+		for( int c = 1 ; c < getLabels().size() ; c++ )
+		{
+			if( probabilities[offset + c] > probabilities[offset + best] )
+			{
+				best = c;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Classifies each of a batch of examples, large batches are split across the common ForkJoinPool.
+	 */
+	public String[] classifyAll(List<? extends Map<String, Double>> features)
+	{
+		return classifyAll(features, ForkJoinPool.commonPool());
+	}
+
+	public String[] classifyAll(List<? extends Map<String, Double>> features, ForkJoinPool pool)
+	{
+		String[] labels = new String[features.size()];
+
+		score(randomAccess(features), labels, null, pool);
+
+		return labels;
+	}
+
+	/**
+	 * The label probabilities of each of a batch of examples, large batches are split across the common ForkJoinPool.
+	 */
+	public LabelProbabilities getLabelProbabilitiesAll(List<? extends Map<String, Double>> features)
+	{
+		return getLabelProbabilitiesAll(features, ForkJoinPool.commonPool());
+	}
+
+	public LabelProbabilities getLabelProbabilitiesAll(List<? extends Map<String, Double>> features, ForkJoinPool pool)
+	{
+		double[] probabilities = new double[features.size() * getLabels().size()];
+
+		score(randomAccess(features), null, probabilities, pool);
+
+		return new LabelProbabilities(getLabels(), probabilities);
+	}
+
+	private void score(List<? extends Map<String, Double>> features, String[] labels, double[] probabilities, ForkJoinPool pool)
+	{
+		BatchTask task = new BatchTask(features, labels, probabilities, 0, features.size());
+
+		if( features.size() <= BATCH_THRESHOLD )
+		{
+			task.compute();
+		}
+		else
+		{
+			pool.invoke(task);
+		}
+	}
+
+	private static <T> List<T> randomAccess(List<T> list)
+	{
+		return list instanceof RandomAccess ? list : Lists.newArrayList(list);
+	}
+
 	public static LearnerBuilder builder()
 	{
 		return new LearnerBuilder();
 	}
-	
+
 	public double getAccuracy()
 	{
 		return accuracy;
 	}
+
+	/**
+	 * Scores examples from to to - 1 of a batch, writing either the best label into labels or every label's
+	 * probability into probabilities.
+	 */
+	private class BatchTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final List<? extends Map<String, Double>> features;
+		private final String[] labels;
+		private final double[] probabilities;
+		private final int from;
+		private final int to;
+
+		BatchTask(List<? extends Map<String, Double>> features, String[] labels, double[] probabilities, int from, int to)
+		{
+			this.features = features;
+			this.labels = labels;
+			this.probabilities = probabilities;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if( to - from > BATCH_THRESHOLD )
+			{
+				int mid = (from + to) >>> 1;
+
+				invokeAll(new BatchTask(features, labels, probabilities, from, mid), new BatchTask(features, labels, probabilities, mid, to));
+				return;
+			}
+
+			List<String> labelNames = getLabels();
+			int numLabels = labelNames.size();
+
+			if( probabilities != null )
+			{
+				for( int i = from ; i < to ; i++ )
+				{
+					labelProbabilities(features.get(i), probabilities, i * numLabels);
+				}
+			}
+			else
+			{
+				double[] scratch = new double[numLabels];
+
+				for( int i = from ; i < to ; i++ )
+				{
+					labels[i] = labelNames.get(classify(features.get(i), scratch));
+				}
+			}
+		}
+	}
 }
@@ -1,167 +1,207 @@
 package com.toao.quicklearner;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
 public class LearnerBuilder
 {
 	private static Logger sLogger = LoggerFactory.getLogger(LearnerBuilder.class);
 
-	private List<Example> examples = Lists.newArrayList();
+	private final FeatureMatrix.Builder examples = new FeatureMatrix.Builder();
 
 	private final int cvFolds = 10;
 
 	private final double learningRate = 0.1;
 
-	protected LearnerBuilder addExample(String label, Map<String, Double> features)
+	private Executor executor = null;
+
+	private LogisticTrainer trainer = new LogisticTrainer();
+
+	private LogisticFunction function = LogisticFunction.EXACT;
+
+	/**
+	 * Trains the independent per-label models concurrently on the given executor. By default everything is trained
+	 * sequentially on the thread calling build().
+	 */
+	public LearnerBuilder withExecutor(Executor executor)
 	{
-		
-		examples.add(new Example(label, features));
+		this.executor = executor;
 		return this;
 	}
 
-	protected LearnerBuilder addExample(String label, Set<String> features)
+	/**
+	 * Sets the optimiser used to fit each model, for example a MiniBatchLogisticTrainer for large datasets. The default
+	 * is full batch gradient descent.
+	 */
+	public LearnerBuilder withTrainer(LogisticTrainer trainer)
 	{
-		Map<String, Double> newFeatures = Maps.newHashMap();
+		this.trainer = checkNotNull(trainer);
+		return this;
+	}
 
-		for (String feature : features)
-		{
-			newFeatures.put(feature, 1.0);
-		}
+	/**
+	 * Sets how the sigmoid and log loss are evaluated, both in training and by the built Learner. The default is
+	 * LogisticFunction.EXACT, LogisticFunction.APPROXIMATE trades a small bounded error for cheaper table lookups.
+	 */
+	public LearnerBuilder withLogisticFunction(LogisticFunction function)
+	{
+		this.function = checkNotNull(function);
+		return this;
+	}
+
+	/**
+	 * Trains concurrently on the common ForkJoinPool, using all of the available cores.
+	 */
+	public LearnerBuilder parallel()
+	{
+		return withExecutor(ForkJoinPool.commonPool());
+	}
+
+	protected LearnerBuilder addExample(String label, Map<String, Double> features)
+	{
+		examples.addRow(label, features);
+		return this;
+	}
 
-		examples.add(new Example(label, newFeatures));
+	protected LearnerBuilder addExample(String label, Set<String> features)
+	{
+		examples.addRow(label, features);
 		return this;
 	}
 
 	public Learner build()
 	{
-		if( examples.size() < 1 )
+		if( examples.getRowCount() < 1 )
 		{
 			throw new RuntimeException("There must be a least one training example provided.");
 		}
 		
-		// Find all the labels
-
-		Set<String> labelSet = Sets.newHashSet();
-
-		for (Example example : examples)
-		{
-			labelSet.add(example.getLabel());
-		}
-
-		List<String> labels = Lists.newArrayList(labelSet);
+		// The examples were packed into a sparse matrix as they were added, every training pass shares it
+		final FeatureMatrix data = examples.build();
+		int numExamples = data.getRowCount();
 
 		// We will split off a validation dataset of about 20% of the examples
-		List<Example> validation = Lists.newArrayList();
-		List<Example> trainingExamples = Lists.newArrayList();
+		final int[] validationRows = new int[(numExamples + 4) / 5];
+		final int[] trainingRows = new int[numExamples - validationRows.length];
+		int[] allRows = new int[numExamples];
+		int v = 0;
+		int t = 0;
 		
-		for( int c = 0; c < examples.size() ; c++ )
+		for( int c = 0; c < numExamples ; c++ )
 		{
+			allRows[c] = c;
+			
 			if( c % 5 == 0 )
 			{
-				validation.add( examples.get(c) );
+				validationRows[v++] = c;
 			}
 			else
 			{
-				trainingExamples.add( examples.get(c) );
+				trainingRows[t++] = c;
 			}
 		}
 		
-		// Now we try to find the best regularisation parameter
-		double regulariser = 0.0;
-		double bestCost = Double.MAX_VALUE;
+		// The feature statistics are gathered once and shared by every model trained on the same rows
+		final FeatureStatistics trainingStats = FeatureStatistics.of(data, trainingRows);
+		FeatureStatistics validationStats = FeatureStatistics.of(data, validationRows);
 		
+		// Now we try to find the best regularisation parameter. Without an executor the candidates are fitted one after
+		// another down the regularisation path, each warm started from the last. With one they're independent and run
+		// all at once against the same read-only data.
+		final double[] candidates = new double[12];
+		final BestCandidate best = new BestCandidate();
+
 		for( int p = -6 ; p < 6 ; p++ )
 		{
-			double tmpReg = Math.pow(-2.0, p);
-			
-			double totalCost = 0.0;
-			
-			Learner learner = train(regulariser, learningRate, labels, trainingExamples, 0.0);
+			candidates[p + 6] = Math.pow(2.0, p);
+		}
+		
+		if( executor == null )
+		{
+			double[][] previous = null;
 			
-			double examples = validation.size();
+			for( int c = candidates.length - 1 ; c >= 0 ; c-- )
+			{
+				previous = evaluateCandidate(c, candidates[c], previous, data, trainingRows, trainingStats, validationRows, best);
+			}
+		}
+		else
+		{
+			List<Callable<double[][]>> sweep = Lists.newArrayList();
 			
-			for (int i = 0; i < validation.size(); i++)
+			for( int c = 0 ; c < candidates.length ; c++ )
 			{
-				Example example = validation.get(i);
-
-				Map<String, Double> labelProbs = learner.getLabelProbabilities(example.getFeatures());
+				final int candidate = c;
 				
-				for( String label : labelProbs.keySet() )
+				sweep.add(new Callable<double[][]>()
 				{
-					if( label.equals(example.getLabel()) )
+					@Override
+					public double[][] call()
 					{
-						totalCost -= Math.log(labelProbs.get(label)) / (4 * examples);
+						return evaluateCandidate(candidate, candidates[candidate], null, data, trainingRows, trainingStats, validationRows, best);
 					}
-					else
-					{
-						totalCost -= Math.log(1.0 - labelProbs.get(label)) / (4 * examples);
-					}
-				}
+				});
 			}
 			
-			sLogger.debug("build - total validation cost: {} for regularisation parameter: {}", totalCost, regulariser);
-			
-			if( totalCost < bestCost )
-			{
-				bestCost = totalCost;
-				regulariser = tmpReg;
-			}
+			Tasks.invokeAll(executor, sweep);
 		}
 		
+		if( best.index < 0 )
+		{
+			throw new IllegalStateException("No regularisation parameter gave a finite validation cost.");
+		}
+		
+		final double regulariser = candidates[best.index];
+		final double[][] bestOmegas = best.omegas;
+		
 		sLogger.debug("build - best regularisation parameter was: {}", regulariser);
 		
-		// Now do cross validation to estimate the learner's accuracy
+		// Now do cross validation to estimate the learner's accuracy. Each fold is fitted from scratch: the best
+		// candidate's weights were fitted on every training row, including the fold's held out ones
 
-		int correct = 0;
-		int tries = 0;
+		List<Callable<FoldResult>> folds = Lists.newArrayList();
 
 		for (int c = 0; c < cvFolds; c++)
 		{
-			List<Example> cvTrainingExamples = Lists.newArrayList();
-			List<Example> testExamples = Lists.newArrayList();
+			final int fold = c;
 
-			for (int i = 0; i < trainingExamples.size(); i++)
+			folds.add(new Callable<FoldResult>()
 			{
-				if (i % cvFolds == c)
+				@Override
+				public FoldResult call()
 				{
-					testExamples.add(trainingExamples.get(i));
+					return crossValidate(fold, regulariser, data, trainingRows, trainingStats);
 				}
-				else
-				{
-					cvTrainingExamples.add(trainingExamples.get(i));
-				}
-			}
-
-			Learner learner = train(regulariser, learningRate, labels, cvTrainingExamples, 0.0);
-
-			for (int i = 0; i < testExamples.size(); i++)
-			{
-				tries++;
-				Example example = testExamples.get(i);
+			});
+		}
 
-				String probLabel = learner.classify(example.getFeatures());
+		int correct = 0;
+		int tries = 0;
 
-				if (probLabel == example.getLabel())
-				{
-					correct++;
-				}
-			}
+		for (FoldResult result : Tasks.invokeAll(executor, folds))
+		{
+			correct += result.correct;
+			tries += result.tries;
 		}
 
 		double accuracy = ((double) correct) / tries;
 
 		sLogger.debug("build - final training pass.. ");
 
-		Learner learner = train(regulariser, learningRate, labels, examples, accuracy);
+		FeatureStatistics allStats = trainingStats.plus(validationStats);
+
+		Learner learner = toLearner(train(regulariser, bestOmegas, data, allRows, allStats), data, allStats, accuracy);
 
 		sLogger.debug("build - tries: {}, correct: {}, accuracy: {}", new Object[]
 		{ tries, correct, ((10000 * correct) / tries) / 100.0 });
@@ -169,30 +209,219 @@ public class LearnerBuilder
 		return learner;
 	}
 
-	private Learner train(double regulariser, double learningRate, List<String> labels, List<Example> trainingExamples, double accuracy)
+	/**
+	 * Fits and scores one regularisation candidate, offering it to best, and returns its weights.
+	 */
+	private double[][] evaluateCandidate(int candidate, double regulariser, double[][] warmStart, FeatureMatrix data, int[] trainingRows, FeatureStatistics trainingStats, int[] validationRows, BestCandidate best)
 	{
-		// We only do Logistic at the moment
-		LogisticTrainer trainer = new LogisticTrainer();
-		List<LogisticInternalLearner> internalLearners = Lists.newArrayList();
+		double[][] omegas = train(regulariser, warmStart, data, trainingRows, trainingStats);
+		
+		double totalCost = validationCost(omegas, data, trainingStats, validationRows);
+		
+		sLogger.debug("build - total validation cost: {} for regularisation parameter: {}", totalCost, regulariser);
+		
+		best.offer(candidate, totalCost, omegas);
+		
+		return omegas;
+	}
+
+	private FoldResult crossValidate(int fold, double regulariser, FeatureMatrix data, int[] trainingRows, FeatureStatistics trainingStats)
+	{
+		int[] testRows = new int[(trainingRows.length - fold + cvFolds - 1) / cvFolds];
+		int[] cvTrainingRows = new int[trainingRows.length - testRows.length];
+		int r = 0;
+		int s = 0;
 
-		if (labels.size() == 2)
+		for (int i = 0; i < trainingRows.length; i++)
 		{
-			LogisticInternalLearner learn = trainer.learn(regulariser, learningRate, labels.get(1), trainingExamples);
+			if (i % cvFolds == fold)
+			{
+				testRows[s++] = trainingRows[i];
+			}
+			else
+			{
+				cvTrainingRows[r++] = trainingRows[i];
+			}
+		}
+
+		// Only the held out rows are scanned, the rest of the fold's statistics come from the full training set
+		FeatureStatistics cvStats = trainingStats.minus(FeatureStatistics.of(data, testRows));
+
+		double[][] omegas = train(regulariser, null, data, cvTrainingRows, cvStats);
+
+		FoldResult result = new FoldResult();
+		double[] labelProbs = new double[data.getLabels().size()];
+
+		for (int row : testRows)
+		{
+			result.tries++;
 
-			internalLearners.add(learn);
+			labelProbabilities(omegas, data, cvStats, row, labelProbs);
+
+			int probLabel = 0;
+
+			for (int c = 1; c < labelProbs.length; c++)
+			{
+				if (labelProbs[c] > labelProbs[probLabel])
+				{
+					probLabel = c;
+				}
+			}
+
+			if (probLabel == data.getLabel(row))
+			{
+				result.correct++;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * The log loss of every label model over the validation rows, scaled by their number. Each loss is a softplus of
+	 * the model's margin, which stays finite where a saturated probability would have a log of zero.
+	 */
+	private double validationCost(double[][] omegas, FeatureMatrix data, FeatureStatistics stats, int[] validationRows)
+	{
+		double totalCost = 0.0;
+		double examples = validationRows.length;
+		double[] labelMargins = new double[data.getLabels().size()];
+		
+		for (int row : validationRows)
+		{
+			labelMargins(omegas, data, stats, row, labelMargins);
+			
+			for( int label = 0 ; label < labelMargins.length ; label++ )
+			{
+				if( label == data.getLabel(row) )
+				{
+					totalCost += function.softplus(-labelMargins[label]) / (4 * examples);
+				}
+				else
+				{
+					totalCost += function.softplus(labelMargins[label]) / (4 * examples);
+				}
+			}
+		}
+		
+		return totalCost;
+	}
+
+	/**
+	 * The logit of each label for a row of data. With two labels the second label's model decides both, the first
+	 * label's logit being its negation.
+	 */
+	private void labelMargins(double[][] omegas, FeatureMatrix data, FeatureStatistics stats, int row, double[] labelMargins)
+	{
+		if( labelMargins.length == 2 )
+		{
+			double margin = trainer.margin(omegas[0], data, stats, row);
+			
+			labelMargins[1] = margin;
+			labelMargins[0] = -margin;
 		}
 		else
 		{
-			for (int c = 0; c < labels.size(); c++)
+			for( int c = 0 ; c < labelMargins.length ; c++ )
 			{
-				LogisticInternalLearner internalLearner = trainer.learn(regulariser, learningRate, labels.get(c), trainingExamples);
+				labelMargins[c] = trainer.margin(omegas[c], data, stats, row);
+			}
+		}
+	}
 
-				internalLearners.add(internalLearner);
+	/**
+	 * Scores a row of data against the fitted label models, the same way LogisticLearner would.
+	 */
+	private void labelProbabilities(double[][] omegas, FeatureMatrix data, FeatureStatistics stats, int row, double[] labelProbs)
+	{
+		if( labelProbs.length == 2 )
+		{
+			double prob = trainer.probability(omegas[0], data, stats, row, function);
+			
+			labelProbs[1] = prob;
+			labelProbs[0] = 1.0 - prob;
+		}
+		else
+		{
+			for( int c = 0 ; c < labelProbs.length ; c++ )
+			{
+				labelProbs[c] = trainer.probability(omegas[c], data, stats, row, function);
 			}
 		}
+	}
 
-		Learner learner = new LogisticLearner(internalLearners, labels, accuracy);
+	/**
+	 * Fits the weights for every label model, in label order. The models start from warmStart's weights if it isn't
+	 * null.
+	 */
+	private double[][] train(final double regulariser, final double[][] warmStart, final FeatureMatrix data, final int[] rows, final FeatureStatistics stats)
+	{
+		// We only do Logistic at the moment
+		List<String> labels = data.getLabels();
 
-		return learner;
+		// A two class problem only needs the one learner for the second label
+		final int firstLabel = labels.size() == 2 ? 1 : 0;
+
+		// Every label's model is fitted to the same normalised values
+		final double[] normalised = trainer.normalise(data, rows, stats);
+
+		List<Callable<double[]>> tasks = Lists.newArrayList();
+
+		for (int c = firstLabel; c < labels.size(); c++)
+		{
+			final int positiveLabel = c;
+
+			tasks.add(new Callable<double[]>()
+			{
+				@Override
+				public double[] call()
+				{
+					double[] initialOmega = warmStart == null ? null : warmStart[positiveLabel - firstLabel];
+					
+					return trainer.fit(regulariser, learningRate, positiveLabel, data, rows, stats, normalised, initialOmega, function, executor);
+				}
+			});
+		}
+
+		return Tasks.invokeAll(executor, tasks).toArray(new double[0][]);
+	}
+
+	private Learner toLearner(double[][] omegas, FeatureMatrix data, FeatureStatistics stats, double accuracy)
+	{
+		List<LogisticInternalLearner> internalLearners = Lists.newArrayList();
+
+		for (double[] omega : omegas)
+		{
+			internalLearners.add(trainer.toLearner(omega, data, stats));
+		}
+
+		return new LogisticLearner(internalLearners, data.getLabels(), accuracy, function);
+	}
+
+	private static class FoldResult
+	{
+		int correct = 0;
+		int tries = 0;
+	}
+
+	/**
+	 * The regularisation candidate with the lowest validation cost so far. Ties go to the earliest candidate so the
+	 * choice doesn't depend on the order concurrent candidates finish in.
+	 */
+	protected static class BestCandidate
+	{
+		int index = -1;
+		double cost = Double.MAX_VALUE;
+		double[][] omegas = null;
+
+		synchronized void offer(int candidate, double candidateCost, double[][] candidateOmegas)
+		{
+			if (candidateCost < cost || (candidateCost == cost && candidate < index))
+			{
+				index = candidate;
+				cost = candidateCost;
+				omegas = candidateOmegas;
+			}
+		}
 	}
 }
@@ -0,0 +1,105 @@
+package com.toao.quicklearner;
+
+/**
+ * How the logistic sigmoid, and the softplus log(1 + e^x) that gives the log loss, are evaluated when training and
+ * scoring.
+ *
+ * EXACT uses Math.exp and Math.log. APPROXIMATE interpolates linearly between values tabulated every 1/64 over
+ * [-20, 20] and saturates beyond, which replaces each transcendental call with a table lookup. Its sigmoid is within
+ * 3e-6 of the exact value and its softplus within 8e-6, far below the noise in any fitted model.
+ */
+public enum LogisticFunction
+{
+	EXACT
+	{
+		@Override
+		public double sigmoid(double x)
+		{
+			return 1 / (1 + Math.exp(-x));
+		}
+
+		@Override
+		public double softplus(double x)
+		{
+			// Written so that exp never overflows
+			return x > 0 ? x + Math.log1p(Math.exp(-x)) : Math.log1p(Math.exp(x));
+		}
+	},
+
+	APPROXIMATE
+	{
+		@Override
+		public double sigmoid(double x)
+		{
+			if (x <= -LIMIT)
+			{
+				return 0.0;
+			}
+
+			if (x >= LIMIT)
+			{
+				return 1.0;
+			}
+
+			return interpolate(Tables.SIGMOID, x);
+		}
+
+		@Override
+		public double softplus(double x)
+		{
+			if (x <= -LIMIT)
+			{
+				return 0.0;
+			}
+
+			if (x >= LIMIT)
+			{
+				return x;
+			}
+
+			return interpolate(Tables.SOFTPLUS, x);
+		}
+	};
+
+	private static final double LIMIT = 20.0;
+	private static final int STEPS_PER_UNIT = 64;
+
+	/**
+	 * The logistic sigmoid 1 / (1 + e^-x).
+	 */
+	public abstract double sigmoid(double x);
+
+	/**
+	 * log(1 + e^x), the log loss of a positive example at margin -x or a negative one at margin x.
+	 */
+	public abstract double softplus(double x);
+
+	private static double interpolate(double[] table, double x)
+	{
+		double position = (x + LIMIT) * STEPS_PER_UNIT;
+		int i = (int) position;
+		double fraction = position - i;
+
+		return table[i] + fraction * (table[i + 1] - table[i]);
+	}
+
+	/**
+	 * Holds the tables so that they are only built if APPROXIMATE is used.
+	 */
+	private static class Tables
+	{
+		static final double[] SIGMOID = new double[(int) (2 * LIMIT * STEPS_PER_UNIT) + 2];
+		static final double[] SOFTPLUS = new double[SIGMOID.length];
+
+		static
+		{
+			for (int i = 0; i < SIGMOID.length; i++)
+			{
+				double x = -LIMIT + (double) i / STEPS_PER_UNIT;
+
+				SIGMOID[i] = EXACT.sigmoid(x);
+				SOFTPLUS[i] = EXACT.softplus(x);
+			}
+		}
+	}
+}
@@ -1,81 +1,127 @@
 package com.toao.quicklearner;
 
 import java.util.Map;
+import java.util.Map.Entry;
 
-import com.google.common.collect.ImmutableMap;
 import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.InternalLogistic;
-import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.InternalLogistic.Builder;
 
+/**
+ * A single one-vs-rest logistic model.
+ *
+ * The model is trained on normalised features, omega * (x - mean) / stdDev for each feature present in an example. As
+ * that is linear in x it is folded, when the learner is constructed, into an effective weight omega / stdDev and an
+ * offset -omega * mean / stdDev per feature, so classifying costs one lookup and a multiply-add per feature. The bias
+ * is held separately and always applied.
+ */
 public class LogisticInternalLearner
 {
-	private final Map<String, Double> featureOmega;
-	private final Map<String, Double> featureMean;
-	private final Map<String, Double> featureStdDev;
+	private final FeatureIndex featureIdx;
+	private final double[] weights;
+	private final double[] offsets;
+	private final double bias;
 
 	protected LogisticInternalLearner(Map<String, Double> featuresOmega, Map<String, Double> featureMean, Map<String, Double> featureStdDev)
 	{
-		this.featureOmega = featuresOmega;
-		this.featureMean = featureMean;
-		this.featureStdDev = featureStdDev;
+		this(fold(featuresOmega, featureMean, featureStdDev));
 	}
 
-	public double classify(Map<String, Double> features)
+	protected LogisticInternalLearner(InternalLogistic internal)
+	{
+		this(fold(internal));
+	}
+
+	private LogisticInternalLearner(Folder folder)
+	{
+		this.featureIdx = folder.featureIdx;
+		this.weights = folder.weights;
+		this.offsets = folder.offsets;
+		this.bias = folder.bias;
+	}
+
+	private static Folder fold(Map<String, Double> featuresOmega, Map<String, Double> featureMean, Map<String, Double> featureStdDev)
 	{
-		double sum = 0.0;
+		Folder folder = new Folder(featuresOmega.size());
 
-		for (final String feature : features.keySet())
+		for (Entry<String, Double> e : featuresOmega.entrySet())
 		{
-			if (featureOmega.containsKey(feature))
-			{
-				double omega = featureOmega.get(feature);
+			String feature = e.getKey();
 
-				sum += omega * (features.get(feature) - featureMean.get(feature)) / featureStdDev.get(feature);
-			}
+			folder.add(feature, e.getValue(), featureMean.get(feature), featureStdDev.get(feature));
 		}
 
-		double hx = 1 / (1 + Math.exp(-sum));
-
-		return hx;
+		return folder;
 	}
 
-	protected LogisticInternalLearner(InternalLogistic internal)
+	private static Folder fold(InternalLogistic internal)
 	{
-		int i = 0;
-		
-		ImmutableMap.Builder<String, Double> omegaBuilder = ImmutableMap.builder();
-		ImmutableMap.Builder<String, Double> meanBuilder = ImmutableMap.builder();
-		ImmutableMap.Builder<String, Double> stdDevBuilder = ImmutableMap.builder();
-		
-		for( String feature : internal.getFeatureList() )
+		Folder folder = new Folder(internal.getFeatureCount());
+
+		for (int i = 0; i < internal.getFeatureCount(); i++)
 		{
-			double omega = internal.getOmega(i);
-			double mean = internal.getMean(i);
-			double stdDev = internal.getStdDev(i);
-			
-			omegaBuilder.put(feature, omega);
-			meanBuilder.put(feature, mean);
-			stdDevBuilder.put(feature, stdDev);
-			
-			i++;
+			folder.add(internal.getFeature(i), internal.getOmega(i), internal.getMean(i), internal.getStdDev(i));
 		}
-		
-		featureOmega = omegaBuilder.build();
-		featureMean = meanBuilder.build();
-		featureStdDev = stdDevBuilder.build();
+
+		return folder;
 	}
-	
-	public InternalLogistic save()
+
+	/**
+	 * The number of features, other than the bias, the model has weights for. Their ids run from 0 to this - 1.
+	 */
+	protected int getFeatureCount()
 	{
-		Builder builder = InternalLogistic.newBuilder();
-		
-		for( String feature : featureOmega.keySet() )
+		return featureIdx.size();
+	}
+
+	protected String getFeature(int id)
+	{
+		return featureIdx.getFeature(id);
+	}
+
+	protected double getWeight(int id)
+	{
+		return weights[id];
+	}
+
+	protected double getOffset(int id)
+	{
+		return offsets[id];
+	}
+
+	protected double getBias()
+	{
+		return bias;
+	}
+
+	/**
+	 * Folds each feature's normalisation into its weight as the features are added.
+	 */
+	private static class Folder
+	{
+		final FeatureIndex featureIdx;
+		double[] weights;
+		double[] offsets;
+		double bias = 0.0;
+
+		Folder(int capacity)
+		{
+			featureIdx = new FeatureIndex(capacity);
+			weights = new double[capacity];
+			offsets = new double[capacity];
+		}
+
+		void add(String feature, double omega, double mean, double stdDev)
 		{
-			builder.addFeature(feature);
-			builder.addMean(featureMean.get(feature));
-			builder.addOmega(featureOmega.get(feature));
-			builder.addStdDev(featureStdDev.get(feature));
+			if (feature.equals(FeatureMatrix.BIAS_NAME))
+			{
+				// The bias' value is always 1.0
+				bias += omega * (1.0 - mean) / stdDev;
+				return;
+			}
+
+			int id = featureIdx.add(feature);
+
+			weights[id] = omega / stdDev;
+			offsets[id] = -omega * mean / stdDev;
 		}
-		
-		return builder.build();
 	}
 }
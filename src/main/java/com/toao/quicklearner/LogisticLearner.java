@@ -3,139 +3,252 @@ package com.toao.quicklearner;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.toao.quicklearner.persistence.LearnerModel;
-import com.toao.quicklearner.persistence.LearnerModel.Model;
-import com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType;
-import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic;
-import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.InternalLogistic;
 
-public class LogisticLearner extends Learner
+public class LogisticLearner extends Learner implements Closeable
 {
 	private final List<String> labels;
-	private final List<LogisticInternalLearner> internalLearners;
+	private final WeightMatrix weights;
+	private final LogisticFunction function;
 
-	protected LogisticLearner(List<LogisticInternalLearner> internalLearners, List<String> labels, double accuracy)
+	protected LogisticLearner(List<LogisticInternalLearner> internalLearners, List<String> labels, double accuracy, LogisticFunction function)
 	{
 		this.accuracy = accuracy;
 		checkNotNull(internalLearners);
 		checkNotNull(labels);
 		checkArgument(labels.size() >= 2, "Must be two or more labels.");
 		checkArgument((labels.size() == 2 && internalLearners.size() == 1) || (labels.size() > 2 && internalLearners.size() == labels.size()), "Multi-label classification requires one learner per label");
-		this.internalLearners = ImmutableList.copyOf(internalLearners);
+		this.weights = new HeapWeightMatrix(internalLearners);
 		this.labels = ImmutableList.copyOf(labels);
+		this.function = checkNotNull(function);
 	}
 
-	private Map<String,Double> mapFromSet(Set<String> features)
+	protected LogisticLearner(List<String> labels, WeightMatrix weights, double accuracy, LogisticFunction function)
 	{
-		Map<String,Double> map = Maps.newHashMap();
-		
-		for( String feature : features )
+		checkArgument(labels.size() >= 2, "Must be two or more labels.");
+		checkArgument(weights.getModelCount() == (labels.size() == 2 ? 1 : labels.size()), "Multi-label classification requires one learner per label");
+		this.accuracy = accuracy;
+		this.labels = ImmutableList.copyOf(labels);
+		this.weights = weights;
+		this.function = checkNotNull(function);
+	}
+
+	/**
+	 * This learner, sharing its weights, with the sigmoid evaluated by function instead, for example
+	 * LogisticFunction.APPROXIMATE to score a loaded model faster.
+	 */
+	public LogisticLearner withLogisticFunction(LogisticFunction function)
+	{
+		return new LogisticLearner(labels, weights, accuracy, function);
+	}
+
+	/**
+	 * A copy of this learner with its weights and feature names held outside the Java heap, for models too large to
+	 * leave to the garbage collector. The copy must be closed once it is no longer needed, which releases the memory.
+	 */
+	public LogisticLearner offHeap()
+	{
+		return new LogisticLearner(labels, OffHeapWeightMatrix.copyOf(weights), accuracy, function);
+	}
+
+	/**
+	 * A copy of this learner for serving, with its weights stored at the given precision and dequantized as they are
+	 * scored. The copy serialises in a matching quantized layout.
+	 */
+	public LogisticLearner quantize(WeightPrecision precision)
+	{
+		return new LogisticLearner(labels, QuantizedWeightMatrix.quantize(weights, checkNotNull(precision)), accuracy, function);
+	}
+
+	/**
+	 * As quantize(WeightPrecision), also reporting the largest difference the quantization makes to any label's
+	 * probability over the examples, for example a held out sample of the training data.
+	 */
+	public QuantizationReport quantize(WeightPrecision precision, Iterable<Map<String, Double>> examples)
+	{
+		LogisticLearner quantized = quantize(precision);
+
+		double[] probabilities = new double[labels.size()];
+		double[] quantizedProbabilities = new double[labels.size()];
+		double maxDeviation = 0.0;
+		int count = 0;
+
+		for (Map<String, Double> features : examples)
 		{
-			map.put(feature, 1.0);
+			labelProbabilities(features, probabilities, 0);
+			quantized.labelProbabilities(features, quantizedProbabilities, 0);
+
+			for (int c = 0; c < probabilities.length; c++)
+			{
+				maxDeviation = Math.max(maxDeviation, Math.abs(probabilities[c] - quantizedProbabilities[c]));
+			}
+
+			count++;
 		}
-		
-		return map;
+
+		return new QuantizationReport(quantized, precision, maxDeviation, count);
 	}
-	
+
+	/**
+	 * Releases the memory of a learner from offHeap(), along with any other learner sharing its weights through
+	 * withLogisticFunction. It does nothing for other learners.
+	 */
+	@Override
+	public void close()
+	{
+		weights.close();
+	}
+
 	public String classify(Set<String> features)
 	{
-		 return classify(mapFromSet(features));
+		return labels.get(classify(features, new double[labels.size()]));
 	}
 	
-	public String classify(Map<String, Double> features)
+	/**
+	 * Classifies binary features, each present feature having the value 1.0, writing the probability of each label
+	 * in getLabels() order into probabilities and returning the index of the most probable.
+	 */
+	public int classify(Set<String> features, double[] probabilities)
 	{
-		Map<String, Double> classProbs = getLabelProbabilities(features);
+		checkArgument(probabilities.length >= labels.size(), "Probabilities must hold one value per label.");
 		
-		double bestProb = Double.MIN_VALUE;
-		String bestLabel = null;
-				
-		for( Entry<String, Double> e : classProbs.entrySet() )
-		{
-			String labelName = e.getKey();
-			double labelProb = e.getValue();
-			
-			if( labelProb > bestProb )
-			{
-				bestLabel = labelName;
-				bestProb = labelProb;
-			}
-		}
+		weights.logits(features, probabilities, logitOffset(0));
+		
+		toProbabilities(probabilities, 0);
 		
-		return bestLabel;
+		return bestLabel(probabilities, 0);
+	}
+	
+	public String classify(Map<String, Double> features)
+	{
+		return labels.get(classify(features, new double[labels.size()]));
 	}
 	
 	public Map<String,Double> getLabelProbabilities(Map<String,Double> features)
 	{
 		Map<String,Double> labelProbs = Maps.newHashMap();
 
-		if( labels.size() == 2 )
-		{
-			LogisticInternalLearner learner = internalLearners.get(0);
-			
-			double prob = learner.classify(features);
+		double[] probabilities = new double[labels.size()];
 
-			labelProbs.put(labels.get(1), prob);
-			labelProbs.put(labels.get(0), 1.0 - prob);
-		}
-		else
+		labelProbabilities(features, probabilities, 0);
+
+		for( int c = 0; c < labels.size() ; c++ )
 		{
-			for( int c = 0; c < labels.size() ; c++ )
-			{
-				String currentLabel = labels.get(c);
-				LogisticInternalLearner learner = internalLearners.get(c);
-				
-				double labelProb = learner.classify(features);
-				
-				labelProbs.put(currentLabel, labelProb);
-			}
+			labelProbs.put(labels.get(c), probabilities[c]);
 		}
 		
 		return labelProbs;
 	}
 
-	protected LogisticLearner(Logistic logistic)
+	@Override
+	public double getLabelProbability(Map<String,Double> features, String label)
 	{
-		this.accuracy = logistic.getAccuracy();
+		int index = labels.indexOf(label);
 		
-		this.labels = ImmutableList.copyOf(logistic.getLabelsList());
+		checkArgument(index >= 0, "Unknown label: %s", label);
 		
-		this.internalLearners = Lists.newArrayList();
-		
-		for( InternalLogistic i : logistic.getInternalsList() )
+		if( labels.size() == 2 )
 		{
-			this.internalLearners.add( new LogisticInternalLearner(i) );
+			double prob = function.sigmoid(weights.logit(features, 0));
+			
+			return index == 1 ? prob : 1.0 - prob;
 		}
+		
+		return function.sigmoid(weights.logit(features, index));
 	}
-	
+
 	@Override
-	public byte[] serialise()
+	public List<String> getLabels()
 	{
-		Model.Builder modelBuilder = LearnerModel.Model.newBuilder();
-		
-		modelBuilder.setLearnerType(LearnerType.LOGISTIC);
+		return labels;
+	}
+
+	@Override
+	protected void labelProbabilities(Map<String, Double> features, double[] probabilities, int offset)
+	{
+		weights.logits(features, probabilities, logitOffset(offset));
 		
-		Logistic.Builder logisticBuilder = modelBuilder.getLogisticBuilder();
+		toProbabilities(probabilities, offset);
+	}
+
+	@Override
+	protected void labelProbabilities(FeatureVector features, double[] probabilities, int offset)
+	{
+		weights.logits(features, probabilities, logitOffset(offset));
 		
-		for( LogisticInternalLearner internal : internalLearners )
+		toProbabilities(probabilities, offset);
+	}
+
+	@Override
+	public FeatureVector encode(Map<String, Double> features)
+	{
+		return weights.encode(features);
+	}
+
+	/**
+	 * Where the logits of the example's probabilities starting at offset go: for two labels the one model is for the
+	 * second label, otherwise there is a model per label.
+	 */
+	private int logitOffset(int offset)
+	{
+		return labels.size() == 2 ? offset + 1 : offset;
+	}
+
+	private void toProbabilities(double[] probabilities, int offset)
+	{
+		if( labels.size() == 2 )
 		{
-			logisticBuilder.addInternals( internal.save() );
+			double prob = function.sigmoid(probabilities[offset + 1]);
+
+			probabilities[offset + 1] = prob;
+			probabilities[offset] = 1.0 - prob;
 		}
+		else
+		{
+			for( int c = offset; c < offset + labels.size() ; c++ )
+			{
+				probabilities[c] = function.sigmoid(probabilities[c]);
+			}
+		}
+	}
+
+	@Override
+	public byte[] serialise()
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
 		
-		logisticBuilder.setAccuracy(accuracy);
-		
-		for( String label : labels )
+		try
+		{
+			writeTo(out);
+		}
+		catch( IOException e )
 		{
-			logisticBuilder.addLabels(label);
+			// Writing to memory doesn't do I/O
+			throw new RuntimeException(e);
 		}
 		
-		return modelBuilder.build().toByteArray();
+		return out.toByteArray();
+	}
+
+	@Override
+	public void writeTo(OutputStream out) throws IOException
+	{
+		ModelStream.write(this, weights, out);
+	}
+
+	@Override
+	public void save(Path path) throws IOException
+	{
+		ModelFile.write(this, weights, path);
 	}
 }
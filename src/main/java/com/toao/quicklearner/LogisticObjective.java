@@ -0,0 +1,286 @@
+package com.toao.quicklearner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.google.common.collect.Lists;
+
+/**
+ * The logistic cost and its gradient over a set of training rows, for one positive label.
+ *
+ * The rows are split into chunks which accumulate their own partial gradient and cost, optionally on an Executor, and
+ * the partial gradients are then summed pairwise in a tree. An instance reuses its partial buffers between calls so it
+ * must only be used by one trainer at a time.
+ */
+public class LogisticObjective
+{
+	/** Below this many rows per chunk the cost of handing work to another thread outweighs the gain. */
+	private static final int MIN_CHUNK_ROWS = 2048;
+
+	private final FeatureMatrix data;
+	private final int[] rows;
+	private final double[] normalised;
+	private final int positiveLabel;
+	private final LogisticFunction function;
+	private final Executor executor;
+
+	private final int[] chunkStart;
+	private final double[][] partials;
+
+	protected LogisticObjective(FeatureMatrix data, int[] rows, double[] normalised, int positiveLabel, LogisticFunction function, Executor executor)
+	{
+		this(data, rows, normalised, positiveLabel, function, executor, executor == null ? 1 : Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * An objective splitting the rows into at most maxChunks chunks, each of at least MIN_CHUNK_ROWS rows. Every chunk
+	 * but the first needs a partial gradient of one double per feature, so there are also never more chunks than the
+	 * rows have non-zeros per feature: the partials never take more memory, or more time to sum, than the rows
+	 * themselves.
+	 */
+	protected LogisticObjective(FeatureMatrix data, int[] rows, double[] normalised, int positiveLabel, LogisticFunction function, Executor executor, int maxChunks)
+	{
+		this.data = data;
+		this.rows = rows;
+		this.normalised = normalised;
+		this.positiveLabel = positiveLabel;
+		this.function = function;
+		this.executor = executor;
+
+		int chunks = 1;
+
+		if (executor != null && rows.length >= 2 * MIN_CHUNK_ROWS)
+		{
+			long nonZeros = 0;
+
+			for (final int row : rows)
+			{
+				nonZeros += data.getRowEnd(row) - data.getRowStart(row);
+			}
+
+			chunks = (int) Math.max(1, Math.min(Math.min(maxChunks, rows.length / MIN_CHUNK_ROWS), nonZeros / data.getFeatureCount()));
+		}
+
+		this.chunkStart = new int[chunks + 1];
+
+		for (int c = 0; c <= chunks; c++)
+		{
+			chunkStart[c] = (int) (((long) rows.length * c) / chunks);
+		}
+
+		// Chunk 0 accumulates straight into the caller's gradient
+		this.partials = new double[chunks][];
+
+		for (int c = 1; c < chunks; c++)
+		{
+			partials[c] = new double[data.getFeatureCount()];
+		}
+	}
+
+	/**
+	 * The number of chunks the rows are split into, each accumulating its own partial gradient.
+	 */
+	protected int getChunkCount()
+	{
+		return partials.length;
+	}
+
+	protected int getRowCount()
+	{
+		return rows.length;
+	}
+
+	protected int getFeatureCount()
+	{
+		return data.getFeatureCount();
+	}
+
+	/**
+	 * Writes the un-scaled gradient sum of the cost at omega into gradient and returns the mean cost over the rows,
+	 * without any regularisation.
+	 */
+	protected double evaluate(final double[] omega, double[] gradient)
+	{
+		Arrays.fill(gradient, 0.0);
+
+		partials[0] = gradient;
+
+		if (partials.length == 1)
+		{
+			return accumulate(omega, gradient, 0, rows.length) / rows.length;
+		}
+
+		List<Callable<Double>> tasks = Lists.newArrayList();
+
+		for (int c = 0; c < partials.length; c++)
+		{
+			final int chunk = c;
+
+			tasks.add(new Callable<Double>()
+			{
+				@Override
+				public Double call()
+				{
+					if (chunk > 0)
+					{
+						Arrays.fill(partials[chunk], 0.0);
+					}
+
+					return accumulate(omega, partials[chunk], chunkStart[chunk], chunkStart[chunk + 1]);
+				}
+			});
+		}
+
+		double cost = 0.0;
+
+		for (Double chunkCost : Tasks.invokeAll(executor, tasks))
+		{
+			cost += chunkCost;
+		}
+
+		reduce();
+
+		return cost / rows.length;
+	}
+
+	/**
+	 * Accumulates the gradient of rows[from] to rows[to - 1] into gradient and returns their summed cost.
+	 */
+	protected double accumulate(double[] omega, double[] gradient, int from, int to)
+	{
+		double cost = 0.0;
+
+		for (int r = from; r < to; r++)
+		{
+			final int row = rows[r];
+			final double margin = margin(omega, row);
+
+			double hx = function.sigmoid(margin);
+
+			double y = isPositive(row) ? 1.0 : 0.0;
+
+			cost += loss(row, margin);
+
+			addGradient(gradient, row, hx - y);
+		}
+
+		return cost;
+	}
+
+	/**
+	 * The probability the model gives to a row being positive, given its margin.
+	 */
+	protected double sigmoid(double margin)
+	{
+		return function.sigmoid(margin);
+	}
+
+	/**
+	 * The log loss of the row at the given margin, -log(hx) if it is positive and -log(1 - hx) if not, each computed
+	 * straight from the margin with a single softplus.
+	 */
+	protected double loss(int row, double margin)
+	{
+		return function.softplus(isPositive(row) ? -margin : margin);
+	}
+
+	/**
+	 * The matrix row of the r'th training row.
+	 */
+	protected int getRow(int r)
+	{
+		return rows[r];
+	}
+
+	protected boolean isPositive(int row)
+	{
+		return data.getLabel(row) == positiveLabel;
+	}
+
+	/**
+	 * The dot product of omega with the normalised features of the row, including the bias.
+	 */
+	protected double margin(double[] omega, int row)
+	{
+		final int end = data.getRowEnd(row);
+
+		double sum = omega[FeatureMatrix.BIAS];
+
+		for (int j = data.getRowStart(row); j < end; j++)
+		{
+			sum += omega[data.getColumn(j)] * normalised[j];
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Adds diff times the normalised features of the row to gradient.
+	 */
+	protected void addGradient(double[] gradient, int row, double diff)
+	{
+		final int end = data.getRowEnd(row);
+
+		gradient[FeatureMatrix.BIAS] += diff;
+
+		for (int j = data.getRowStart(row); j < end; j++)
+		{
+			gradient[data.getColumn(j)] += diff * normalised[j];
+		}
+	}
+
+	/**
+	 * Takes a step of size step against gradient for every feature of the row, then clears those gradient entries so
+	 * a feature shared between rows is only stepped once.
+	 */
+	protected void applyGradient(double[] omega, double[] gradient, int row, double step)
+	{
+		final int end = data.getRowEnd(row);
+
+		omega[FeatureMatrix.BIAS] -= step * gradient[FeatureMatrix.BIAS];
+		gradient[FeatureMatrix.BIAS] = 0.0;
+
+		for (int j = data.getRowStart(row); j < end; j++)
+		{
+			int idx = data.getColumn(j);
+
+			omega[idx] -= step * gradient[idx];
+			gradient[idx] = 0.0;
+		}
+	}
+
+	/**
+	 * Sums the partial gradients pairwise into partials[0], each level of the tree in parallel.
+	 */
+	private void reduce()
+	{
+		for (int step = 1; step < partials.length; step *= 2)
+		{
+			List<Callable<Void>> tasks = Lists.newArrayList();
+
+			for (int c = 0; c + step < partials.length; c += 2 * step)
+			{
+				final double[] into = partials[c];
+				final double[] from = partials[c + step];
+
+				tasks.add(new Callable<Void>()
+				{
+					@Override
+					public Void call()
+					{
+						for (int i = 0; i < into.length; i++)
+						{
+							into[i] += from[i];
+						}
+
+						return null;
+					}
+				});
+			}
+
+			Tasks.invokeAll(executor, tasks);
+		}
+	}
+}
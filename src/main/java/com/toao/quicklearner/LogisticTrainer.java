@@ -1,143 +1,185 @@
 package com.toao.quicklearner;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
+/**
+ * Trains a single one-vs-rest logistic model with fixed rate batch gradient descent. Subclasses swap in a different
+ * optimiser by overriding optimise, the data preparation and the resulting LogisticInternalLearner are shared.
+ */
 public class LogisticTrainer
 {
 	private static Logger sLogger = LoggerFactory.getLogger(LogisticTrainer.class);
-	
-	protected LogisticInternalLearner learn(double regulariser, double learningRate, String positiveLabel, List<Example> examples)
-	{
-		sLogger.debug("build - called with positive label: {}", positiveLabel);
 
-		sLogger.debug("build - found {} examples", examples.size());
+	/**
+	 * Normalises every non-zero of the rows by its feature's mean and standard deviation under stats, indexed like the
+	 * non-zeros of data. The values only depend on the rows and their statistics, so they are computed once and shared
+	 * by every label's fit.
+	 */
+	protected double[] normalise(FeatureMatrix data, int[] rows, FeatureStatistics stats)
+	{
+		int numFeatures = data.getFeatureCount();
 
-		Set<String> featureSet = Sets.newHashSet();
+		double[] featureMean = new double[numFeatures];
+		double[] featureStdDev = new double[numFeatures];
 
-		for (Example example : examples)
+		for (int c = 0; c < numFeatures; c++)
 		{
-			for (String key : example.getFeatures().keySet())
+			if (stats.isPresent(c))
 			{
-				featureSet.add(key);
+				featureMean[c] = mean(stats, c);
+				featureStdDev[c] = stdDev(stats, c);
 			}
 		}
 
-		sLogger.debug("build - found {} unique features", featureSet.size());
-
-		List<String> features = Lists.newArrayList(featureSet);
+		double[] normalised = new double[data.getNonZeroCount()];
 
-		Map<String, Integer> featureIdx = Maps.newHashMap();
-
-		for (int c = 0; c < features.size(); c++)
+		for (final int row : rows)
 		{
-			featureIdx.put(features.get(c), c);
+			for (int j = data.getRowStart(row); j < data.getRowEnd(row); j++)
+			{
+				int idx = data.getColumn(j);
+
+				normalised[j] = (data.getValue(j) - featureMean[idx]) / featureStdDev[idx];
+			}
 		}
 
-		double numExamples = examples.size();
+		return normalised;
+	}
+
+	/**
+	 * Fits the weights for positiveLabel, indexed by feature id, given the rows' non-zeros normalised by normalise.
+	 * Optimisation starts from initialOmega, typically the solution of a closely related problem, or from zero if it
+	 * is null. The sigmoid and loss are evaluated with function.
+	 */
+	protected double[] fit(double regulariser, double learningRate, int positiveLabel, FeatureMatrix data, int[] rows, FeatureStatistics stats, double[] normalised, double[] initialOmega, LogisticFunction function, Executor executor)
+	{
+		sLogger.debug("build - called with positive label: {}", data.getLabels().get(positiveLabel));
 
-		Collections.sort(features);
+		sLogger.debug("build - found {} examples", rows.length);
 
-		Map<String, Double> featureStdDev = Maps.newHashMap();
-		Map<String, Double> featureMean = Maps.newHashMap();
+		int numFeatures = data.getFeatureCount();
 
-		featureMean.put("_bias", 0.0);
-		featureStdDev.put("_bias", 1.0);
+		LogisticObjective objective = new LogisticObjective(data, rows, normalised, positiveLabel, function, executor);
 
-		for (int c = 0; c < features.size(); c++)
-		{
-			final String feature = features.get(c);
+		double[] omega = new double[numFeatures];
 
-			if (!feature.equals("_bias"))
+		if (initialOmega != null)
+		{
+			// Features absent from these rows can't be learnt, so they stay at zero
+			for (int c = 0; c < numFeatures; c++)
 			{
-				double tmpSum = 0.0, tmpSquared = 0.0;
-
-				for (final Example example : examples)
+				if (stats.isPresent(c))
 				{
-					ImmutableMap<String, Double> featureMap = example.getFeatures();
-
-					if (featureMap.containsKey(feature))
-					{
-						double val = featureMap.get(feature);
-						tmpSum += val;
-						tmpSquared += val * val;
-					}
+					omega[c] = initialOmega[c];
 				}
-
-				final double stdDev = Math.sqrt(tmpSquared / numExamples - Math.pow(tmpSum / numExamples, 2.0));
-				final double mean = tmpSum / numExamples;
-
-				featureStdDev.put(feature, stdDev);
-				featureMean.put(feature, mean);
 			}
 		}
 
-		double delta = 0.0;
-		int counter = 0;
-		double previousCost = 0.0;
-		double currentCost;
-		double[] currentOmega = new double[features.size()];
+		return optimise(objective, regulariser, learningRate, omega);
+	}
 
-		for (int i = 0; i < 1000; i++)
+	/**
+	 * Packages fitted weights up with the normalisation they were fitted under.
+	 */
+	protected LogisticInternalLearner toLearner(double[] omega, FeatureMatrix data, FeatureStatistics stats)
+	{
+		Map<String,Double> featuresOmega = Maps.newHashMap();
+		Map<String,Double> featuresMean = Maps.newHashMap();
+		Map<String,Double> featuresStdDev = Maps.newHashMap();
+				
+		for (int c = 0; c < data.getFeatureCount(); c++)
 		{
-			double[] omegaSum = new double[features.size()];
+			if (stats.isPresent(c))
+			{
+				String feature = data.getFeature(c);
 
-			sLogger.debug("build - starting learning iteration {}, delta: {}", i, delta);
-			currentCost = 0.0;
+				featuresOmega.put(feature, omega[c]);
+				featuresMean.put(feature, mean(stats, c));
+				featuresStdDev.put(feature, stdDev(stats, c));
+			}
+		}
+		
+		return new LogisticInternalLearner(featuresOmega, featuresMean, featuresStdDev);
+	}
 
-			for (final Example example : examples)
-			{
-				final ImmutableMap<String, Double> exampleFeatures = example.getFeatures();
+	/**
+	 * The probability that weights fitted under stats give to the row being positive, with the sigmoid evaluated by
+	 * function.
+	 */
+	protected double probability(double[] omega, FeatureMatrix data, FeatureStatistics stats, int row, LogisticFunction function)
+	{
+		return function.sigmoid(margin(omega, data, stats, row));
+	}
 
-				double sum = 0.0;
+	/**
+	 * The logit that weights fitted under stats give to the row, positive when it is more likely positive than not.
+	 */
+	protected double margin(double[] omega, FeatureMatrix data, FeatureStatistics stats, int row)
+	{
+		double sum = omega[FeatureMatrix.BIAS];
 
-				for (final String feature : exampleFeatures.keySet())
-				{
-					int idx = featureIdx.get(feature);
+		for (int j = data.getRowStart(row); j < data.getRowEnd(row); j++)
+		{
+			int idx = data.getColumn(j);
 
-					double omega = currentOmega[idx];
+			// Features that weren't in the training rows have no weight
+			if (stats.isPresent(idx))
+			{
+				sum += omega[idx] * (data.getValue(j) - mean(stats, idx)) / stdDev(stats, idx);
+			}
+		}
 
-					sum += omega * (exampleFeatures.get(feature) - featureMean.get(feature)) / featureStdDev.get(feature);
-				}
+		return sum;
+	}
 
-				double hx = 1 / (1 + Math.exp(-sum));
+	private static double mean(FeatureStatistics stats, int feature)
+	{
+		if (feature == FeatureMatrix.BIAS)
+		{
+			return 0.0;
+		}
 
-				double cost = 0.0;
-				double y = 0.0;
+		return stats.getMean(feature);
+	}
 
-				if (example.getLabel().equals(positiveLabel))
-				{
-					cost = Math.log(hx);
-					y = 1.0;
-				}
-				else
-				{
-					cost = Math.log(1 - hx);
-				}
+	private static double stdDev(FeatureStatistics stats, int feature)
+	{
+		if (feature == FeatureMatrix.BIAS)
+		{
+			return 1.0;
+		}
 
-				cost *= -(1 / numExamples);
+		final double stdDev = stats.getStdDev(feature);
 
-				currentCost += cost;
+		// A feature with the same value in every example carries no information, leave it un-scaled
+		return stdDev > 0.0 ? stdDev : 1.0;
+	}
 
-				double diff = hx - y;
+	/**
+	 * Minimises the regularised objective starting from, and updating in place, omega and returns the weights, indexed
+	 * by feature id.
+	 */
+	protected double[] optimise(LogisticObjective objective, double regulariser, double learningRate, double[] omega)
+	{
+		double numExamples = objective.getRowCount();
 
-				for (final String feature : exampleFeatures.keySet())
-				{
-					int idx = featureIdx.get(feature);
+		double delta = 0.0;
+		int counter = 0;
+		double previousCost = 0.0;
+		double currentCost;
+		double[] currentOmega = omega;
+		double[] omegaSum = new double[objective.getFeatureCount()];
 
-					omegaSum[idx] += diff * (exampleFeatures.get(feature) - featureMean.get(feature)) / featureStdDev.get(feature);
-				}
-			}
+		for (int i = 0; i < 1000; i++)
+		{
+			sLogger.debug("build - starting learning iteration {}, delta: {}", i, delta);
+			currentCost = objective.evaluate(currentOmega, omegaSum);
 
 			sLogger.debug("build - cost at iteration {} = {}", i, currentCost);
 
@@ -171,15 +213,6 @@ public class LogisticTrainer
 			previousCost = currentCost;
 		}
 
-		Map<String,Double> featuresOmega = Maps.newHashMap();
-				
-		for( String feature : features )
-		{
-			int idx = featureIdx.get(feature);
-			
-			featuresOmega.put(feature, currentOmega[idx]);
-		}
-		
-		return new LogisticInternalLearner(featuresOmega, featureMean, featureStdDev);
+		return currentOmega;
 	}
 }
@@ -0,0 +1,176 @@
+package com.toao.quicklearner;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Trains with mini-batch stochastic gradient descent, stepping after every batch of examples rather than after a full
+ * pass over the data. Large datasets typically converge in a handful of epochs.
+ *
+ * The learning rate for epoch t is learningRate / (1 + decay * t). The L2 regularisation is applied as a shrinking
+ * scale on the whole weight vector, so each step only touches the features present in the batch.
+ */
+public class MiniBatchLogisticTrainer extends LogisticTrainer
+{
+	private static Logger sLogger = LoggerFactory.getLogger(MiniBatchLogisticTrainer.class);
+
+	private final int batchSize;
+	private final int maxEpochs;
+	private final double decay;
+	private final boolean shuffle;
+	private final long seed;
+
+	public MiniBatchLogisticTrainer()
+	{
+		this(256, 20);
+	}
+
+	public MiniBatchLogisticTrainer(int batchSize, int maxEpochs)
+	{
+		this(batchSize, maxEpochs, 0.5, true, 0L);
+	}
+
+	/**
+	 * @param batchSize the number of examples per gradient step
+	 * @param maxEpochs the maximum number of passes over the examples
+	 * @param decay how quickly the learning rate falls between epochs
+	 * @param shuffle whether to visit the examples in a different random order each epoch
+	 * @param seed the seed for the shuffling, so a build is repeatable
+	 */
+	public MiniBatchLogisticTrainer(int batchSize, int maxEpochs, double decay, boolean shuffle, long seed)
+	{
+		checkArgument(batchSize > 0, "Batch size must be positive.");
+		checkArgument(maxEpochs > 0, "Must allow at least one epoch.");
+		checkArgument(decay >= 0.0, "Learning rate decay can't be negative.");
+
+		this.batchSize = batchSize;
+		this.maxEpochs = maxEpochs;
+		this.decay = decay;
+		this.shuffle = shuffle;
+		this.seed = seed;
+	}
+
+	@Override
+	protected double[] optimise(LogisticObjective objective, double regulariser, double learningRate, double[] omega)
+	{
+		int numRows = objective.getRowCount();
+		double numExamples = numRows;
+
+		// omega = scale * weights, so the regulariser's shrinkage of every weight is a single multiply
+		double[] weights = omega;
+		double scale = 1.0;
+
+		double[] gradient = new double[objective.getFeatureCount()];
+
+		int[] order = new int[numRows];
+
+		for (int r = 0; r < numRows; r++)
+		{
+			order[r] = objective.getRow(r);
+		}
+
+		Random random = new Random(seed);
+
+		double previousCost = Double.MAX_VALUE;
+		int counter = 0;
+
+		for (int epoch = 0; epoch < maxEpochs; epoch++)
+		{
+			if (shuffle)
+			{
+				for (int r = numRows - 1; r > 0; r--)
+				{
+					int other = random.nextInt(r + 1);
+					int tmp = order[r];
+					order[r] = order[other];
+					order[other] = tmp;
+				}
+			}
+
+			double rate = learningRate / (1.0 + decay * epoch);
+			double currentCost = 0.0;
+
+			for (int from = 0; from < numRows; from += batchSize)
+			{
+				int to = Math.min(numRows, from + batchSize);
+
+				for (int r = from; r < to; r++)
+				{
+					int row = order[r];
+					double margin = scale * objective.margin(weights, row);
+
+					double hx = objective.sigmoid(margin);
+
+					double y = objective.isPositive(row) ? 1.0 : 0.0;
+
+					currentCost += objective.loss(row, margin);
+
+					objective.addGradient(gradient, row, hx - y);
+				}
+
+				double shrink = 1.0 - rate * regulariser / numExamples;
+
+				if (shrink > 0.0)
+				{
+					scale *= shrink;
+				}
+				else
+				{
+					// A step this large would shrink the weights to zero or past it, so they're cleared instead
+					Arrays.fill(weights, 0.0);
+					scale = 1.0;
+				}
+
+				// Weights are stored divided by scale, so the step must be too
+				double step = rate / ((to - from) * scale);
+
+				for (int r = from; r < to; r++)
+				{
+					objective.applyGradient(weights, gradient, order[r], step);
+				}
+
+				if (scale < 1e-9)
+				{
+					for (int c = 0; c < weights.length; c++)
+					{
+						weights[c] *= scale;
+					}
+
+					scale = 1.0;
+				}
+			}
+
+			currentCost /= numExamples;
+
+			sLogger.debug("build - cost during epoch {} = {}", epoch, currentCost);
+
+			if (previousCost - currentCost < 0.001)
+			{
+				counter++;
+
+				if (counter > 1)
+				{
+					break;
+				}
+			}
+			else
+			{
+				counter = 0;
+			}
+
+			previousCost = currentCost;
+		}
+
+		for (int c = 0; c < weights.length; c++)
+		{
+			weights[c] *= scale;
+		}
+
+		return weights;
+	}
+}
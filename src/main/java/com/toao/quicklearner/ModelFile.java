@@ -0,0 +1,192 @@
+package com.toao.quicklearner;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Reads and writes a LogisticLearner as a file that is memory mapped and scored in place rather than decoded.
+ *
+ * The file is a header of the magic number, format version, accuracy and labels, each label its length followed by
+ * its UTF-16 chars padded to a multiple of 4 bytes, then padding to a multiple of 8 bytes and a BufferWeightMatrix
+ * section. All values are big-endian and aligned to their own size.
+ */
+public class ModelFile
+{
+	private static final int MAGIC = 0x514C4D46;
+	private static final int VERSION = 1;
+
+	protected static void write(LogisticLearner learner, WeightMatrix weights, Path path) throws IOException
+	{
+		Output out = new Output(Files.newOutputStream(path));
+
+		try
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeDouble(learner.getAccuracy());
+			out.writeInt(learner.getLabels().size());
+
+			for (String label : learner.getLabels())
+			{
+				out.writeInt(label.length());
+				out.writeChars(label);
+				out.pad(4);
+			}
+
+			out.pad();
+
+			BufferWeightMatrix.write(weights, out);
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Maps the model file into memory and returns a learner scoring straight from it. Nothing but the labels is read
+	 * up front, the pages holding the features and weights are loaded by the OS as they are used and shared with any
+	 * other process mapping the same file.
+	 */
+	protected static LogisticLearner map(Path path) throws IOException
+	{
+		ChunkedBuffer buffer;
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try
+		{
+			buffer = ChunkedBuffer.map(channel, channel.size());
+		}
+		finally
+		{
+			channel.close();
+		}
+
+		if (buffer.size() < 8 || buffer.getInt(0) != MAGIC)
+		{
+			throw new IOException("Not a model file: " + path);
+		}
+
+		if (buffer.getInt(4) != VERSION)
+		{
+			throw new IOException("Unsupported model file version " + buffer.getInt(4) + ": " + path);
+		}
+
+		double accuracy = buffer.getDouble(8);
+		int numLabels = buffer.getInt(16);
+		long position = 20;
+
+		ImmutableList.Builder<String> labels = ImmutableList.builder();
+
+		for (int c = 0; c < numLabels; c++)
+		{
+			int length = buffer.getInt(position);
+
+			labels.add(readChars(buffer, position + 4, length));
+			position = align(position + 4 + 2 * length, 4);
+		}
+
+		BufferWeightMatrix weights = new BufferWeightMatrix(buffer, align(position));
+
+		return new LogisticLearner(labels.build(), weights, accuracy, LogisticFunction.EXACT);
+	}
+
+	protected static String readChars(ChunkedBuffer buffer, long position, int length)
+	{
+		char[] chars = new char[length];
+
+		for (int i = 0; i < length; i++)
+		{
+			chars[i] = buffer.getChar(position + 2 * i);
+		}
+
+		return new String(chars);
+	}
+
+	protected static long align(long position)
+	{
+		return align(position, 8);
+	}
+
+	/**
+	 * The position rounded up to a multiple of size, a power of two.
+	 */
+	protected static long align(long position, int size)
+	{
+		return (position + size - 1) & -size;
+	}
+
+	/**
+	 * Writes the big-endian values of a model file, keeping a long count of the bytes written so far as a model can
+	 * be larger than 2GB.
+	 */
+	protected static class Output
+	{
+		private final DataOutputStream out;
+		private long position = 0;
+
+		Output(OutputStream out)
+		{
+			this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+		}
+
+		void writeInt(int value) throws IOException
+		{
+			out.writeInt(value);
+			position += 4;
+		}
+
+		void writeLong(long value) throws IOException
+		{
+			out.writeLong(value);
+			position += 8;
+		}
+
+		void writeDouble(double value) throws IOException
+		{
+			out.writeDouble(value);
+			position += 8;
+		}
+
+		void writeChars(String value) throws IOException
+		{
+			out.writeChars(value);
+			position += 2L * value.length();
+		}
+
+		/**
+		 * Writes zeros up to the next multiple of 8 bytes.
+		 */
+		void pad() throws IOException
+		{
+			pad(8);
+		}
+
+		/**
+		 * Writes zeros up to the next multiple of size bytes, a power of two.
+		 */
+		void pad(int size) throws IOException
+		{
+			while ((position & (size - 1)) != 0)
+			{
+				out.writeByte(0);
+				position++;
+			}
+		}
+
+		void close() throws IOException
+		{
+			out.close();
+		}
+	}
+}
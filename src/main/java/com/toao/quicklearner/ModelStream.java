@@ -0,0 +1,883 @@
+package com.toao.quicklearner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.toao.quicklearner.persistence.LearnerModel.Model;
+import com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic;
+import com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights;
+import com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType;
+import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic;
+import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.InternalLogistic;
+import com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic;
+
+/**
+ * Writes and reads a LogisticLearner as a LearnerModel.Model message field by field, so that neither the Model message
+ * nor its encoded bytes are ever held in memory.
+ *
+ * Learners are written as a CompactLogistic: one feature dictionary shared by every label and, for each label, packed
+ * arrays of the folded weights and offsets. Models in the older Logistic layout, with a dictionary and unfolded
+ * weights per label, are still read, one InternalLogistic at a time. Learners with quantized weights are written as a
+ * QuantizedLogistic, which has the CompactLogistic's layout but stores the weights at their reduced precision.
+ */
+public class ModelStream
+{
+	private static final int DOUBLE_SIZE = 8;
+
+	protected static void write(LogisticLearner learner, WeightMatrix weights, OutputStream out) throws IOException
+	{
+		if (weights instanceof QuantizedWeightMatrix)
+		{
+			writeQuantized(learner, (QuantizedWeightMatrix) weights, out);
+		}
+		else
+		{
+			writeCompact(learner, weights, out);
+		}
+	}
+
+	private static void writeCompact(LogisticLearner learner, WeightMatrix weights, OutputStream out) throws IOException
+	{
+		int models = weights.getModelCount();
+		int rows = weights.getRowCount();
+
+		// The CompactLogistic message is length delimited, so its size is needed up front
+		int labelWeightsSize = 2 * packedSize(LabelWeights.WEIGHT_FIELD_NUMBER, rows);
+		long compactSize = CodedOutputStream.computeDoubleSize(CompactLogistic.ACCURACY_FIELD_NUMBER, learner.getAccuracy());
+
+		for (String label : learner.getLabels())
+		{
+			compactSize += CodedOutputStream.computeStringSize(CompactLogistic.LABELS_FIELD_NUMBER, label);
+		}
+
+		for (int row = 0; row < rows; row++)
+		{
+			compactSize += CodedOutputStream.computeStringSize(CompactLogistic.FEATURE_FIELD_NUMBER, weights.getFeature(row));
+		}
+
+		compactSize += packedSize(CompactLogistic.BIAS_FIELD_NUMBER, models);
+		compactSize += (long) models * (CodedOutputStream.computeTagSize(CompactLogistic.WEIGHTS_FIELD_NUMBER) + CodedOutputStream.computeRawVarint32Size(labelWeightsSize) + labelWeightsSize);
+
+		checkSize(compactSize);
+
+		CodedOutputStream output = CodedOutputStream.newInstance(out);
+
+		output.writeEnum(Model.LEARNERTYPE_FIELD_NUMBER, LearnerType.COMPACT_LOGISTIC.getNumber());
+		output.writeTag(Model.COMPACTLOGISTIC_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		output.writeRawVarint32((int) compactSize);
+
+		for (String label : learner.getLabels())
+		{
+			output.writeString(CompactLogistic.LABELS_FIELD_NUMBER, label);
+		}
+
+		output.writeDouble(CompactLogistic.ACCURACY_FIELD_NUMBER, learner.getAccuracy());
+
+		for (int row = 0; row < rows; row++)
+		{
+			output.writeString(CompactLogistic.FEATURE_FIELD_NUMBER, weights.getFeature(row));
+		}
+
+		writePackedHeader(output, CompactLogistic.BIAS_FIELD_NUMBER, models);
+
+		for (int m = 0; m < models; m++)
+		{
+			output.writeDoubleNoTag(weights.getBias(m));
+		}
+
+		for (int m = 0; m < models; m++)
+		{
+			output.writeTag(CompactLogistic.WEIGHTS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			output.writeRawVarint32(labelWeightsSize);
+
+			writePackedHeader(output, LabelWeights.WEIGHT_FIELD_NUMBER, rows);
+
+			for (int row = 0; row < rows; row++)
+			{
+				output.writeDoubleNoTag(weights.getWeight(row, m));
+			}
+
+			writePackedHeader(output, LabelWeights.OFFSET_FIELD_NUMBER, rows);
+
+			for (int row = 0; row < rows; row++)
+			{
+				output.writeDoubleNoTag(weights.getOffset(row, m));
+			}
+		}
+
+		output.flush();
+	}
+
+	/**
+	 * Writes a QuantizedLogistic, the same as a CompactLogistic but for the precision and each label's scales, and with
+	 * the stored values of each label's weights and offsets as bytes fields.
+	 */
+	private static void writeQuantized(LogisticLearner learner, QuantizedWeightMatrix weights, OutputStream out) throws IOException
+	{
+		int models = weights.getModelCount();
+		int rows = weights.getRowCount();
+		WeightPrecision precision = weights.getPrecision();
+		QuantizedLogistic.Precision storedPrecision = QuantizedLogistic.Precision.valueOf(precision.name());
+
+		int valuesSize = precision.getBytes() * rows;
+		int labelWeightsSize = CodedOutputStream.computeDoubleSize(QuantizedLogistic.LabelWeights.WEIGHTSCALE_FIELD_NUMBER, 0.0)
+				+ CodedOutputStream.computeDoubleSize(QuantizedLogistic.LabelWeights.OFFSETSCALE_FIELD_NUMBER, 0.0)
+				+ 2 * (CodedOutputStream.computeTagSize(QuantizedLogistic.LabelWeights.WEIGHT_FIELD_NUMBER) + CodedOutputStream.computeRawVarint32Size(valuesSize) + valuesSize);
+
+		long quantizedSize = CodedOutputStream.computeDoubleSize(QuantizedLogistic.ACCURACY_FIELD_NUMBER, learner.getAccuracy());
+
+		quantizedSize += CodedOutputStream.computeEnumSize(QuantizedLogistic.PRECISION_FIELD_NUMBER, storedPrecision.getNumber());
+
+		for (String label : learner.getLabels())
+		{
+			quantizedSize += CodedOutputStream.computeStringSize(QuantizedLogistic.LABELS_FIELD_NUMBER, label);
+		}
+
+		for (int row = 0; row < rows; row++)
+		{
+			quantizedSize += CodedOutputStream.computeStringSize(QuantizedLogistic.FEATURE_FIELD_NUMBER, weights.getFeature(row));
+		}
+
+		quantizedSize += packedSize(QuantizedLogistic.BIAS_FIELD_NUMBER, models);
+		quantizedSize += (long) models * (CodedOutputStream.computeTagSize(QuantizedLogistic.WEIGHTS_FIELD_NUMBER) + CodedOutputStream.computeRawVarint32Size(labelWeightsSize) + labelWeightsSize);
+
+		checkSize(quantizedSize);
+
+		CodedOutputStream output = CodedOutputStream.newInstance(out);
+
+		output.writeEnum(Model.LEARNERTYPE_FIELD_NUMBER, LearnerType.QUANTIZED_LOGISTIC.getNumber());
+		output.writeTag(Model.QUANTIZEDLOGISTIC_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+		output.writeRawVarint32((int) quantizedSize);
+
+		for (String label : learner.getLabels())
+		{
+			output.writeString(QuantizedLogistic.LABELS_FIELD_NUMBER, label);
+		}
+
+		output.writeDouble(QuantizedLogistic.ACCURACY_FIELD_NUMBER, learner.getAccuracy());
+		output.writeEnum(QuantizedLogistic.PRECISION_FIELD_NUMBER, storedPrecision.getNumber());
+
+		for (int row = 0; row < rows; row++)
+		{
+			output.writeString(QuantizedLogistic.FEATURE_FIELD_NUMBER, weights.getFeature(row));
+		}
+
+		writePackedHeader(output, QuantizedLogistic.BIAS_FIELD_NUMBER, models);
+
+		for (int m = 0; m < models; m++)
+		{
+			output.writeDoubleNoTag(weights.getBias(m));
+		}
+
+		for (int m = 0; m < models; m++)
+		{
+			output.writeTag(QuantizedLogistic.WEIGHTS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			output.writeRawVarint32(labelWeightsSize);
+
+			output.writeDouble(QuantizedLogistic.LabelWeights.WEIGHTSCALE_FIELD_NUMBER, weights.getWeightScale(m));
+			output.writeDouble(QuantizedLogistic.LabelWeights.OFFSETSCALE_FIELD_NUMBER, weights.getOffsetScale(m));
+
+			output.writeTag(QuantizedLogistic.LabelWeights.WEIGHT_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			output.writeRawVarint32(valuesSize);
+
+			for (int row = 0; row < rows; row++)
+			{
+				writeQuantizedValue(output, precision, weights.getQuantizedWeight(row, m));
+			}
+
+			output.writeTag(QuantizedLogistic.LabelWeights.OFFSET_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			output.writeRawVarint32(valuesSize);
+
+			for (int row = 0; row < rows; row++)
+			{
+				writeQuantizedValue(output, precision, weights.getQuantizedOffset(row, m));
+			}
+		}
+
+		output.flush();
+	}
+
+	/**
+	 * Writes the low precision.getBytes() bytes of value, least significant first.
+	 */
+	private static void writeQuantizedValue(CodedOutputStream output, WeightPrecision precision, int value) throws IOException
+	{
+		for (int b = 0; b < precision.getBytes(); b++)
+		{
+			output.writeRawByte(value >>> (8 * b));
+		}
+	}
+
+	private static void checkSize(long size) throws IOException
+	{
+		if (size > Integer.MAX_VALUE)
+		{
+			throw new IOException("Model is too large for a single protobuf message, " + size + " bytes");
+		}
+	}
+
+	/**
+	 * The encoded size of a packed field of count doubles, which is left out altogether when empty.
+	 */
+	private static int packedSize(int field, int count)
+	{
+		if (count == 0)
+		{
+			return 0;
+		}
+
+		return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeRawVarint32Size(DOUBLE_SIZE * count) + DOUBLE_SIZE * count;
+	}
+
+	private static void writePackedHeader(CodedOutputStream output, int field, int count) throws IOException
+	{
+		if (count > 0)
+		{
+			output.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			output.writeRawVarint32(DOUBLE_SIZE * count);
+		}
+	}
+
+	/**
+	 * Reads a Model message, in either layout, decoding it into a learner as it is parsed. Reads to the end of the
+	 * input.
+	 */
+	protected static Learner read(CodedInputStream input) throws IOException
+	{
+		// The default limit protects against malicious messages, models are trusted and can be large
+		input.setSizeLimit(Integer.MAX_VALUE);
+
+		LearnerType type = null;
+		LogisticLearner logistic = null;
+
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case Model.LEARNERTYPE_FIELD_NUMBER:
+				type = LearnerType.valueOf(input.readEnum());
+				break;
+
+			case Model.LOGISTIC_FIELD_NUMBER:
+				int limit = input.pushLimit(input.readRawVarint32());
+
+				logistic = readLogistic(input);
+
+				input.popLimit(limit);
+				break;
+
+			case Model.COMPACTLOGISTIC_FIELD_NUMBER:
+				int compactLimit = input.pushLimit(input.readRawVarint32());
+
+				logistic = readCompactLogistic(input);
+
+				input.popLimit(compactLimit);
+				break;
+
+			case Model.QUANTIZEDLOGISTIC_FIELD_NUMBER:
+				int quantizedLimit = input.pushLimit(input.readRawVarint32());
+
+				logistic = readQuantizedLogistic(input);
+
+				input.popLimit(quantizedLimit);
+				break;
+
+			default:
+				input.skipField(tag);
+			}
+		}
+
+		if (type != null && logistic != null)
+		{
+			return logistic;
+		}
+
+		throw new InvalidProtocolBufferException("Unable to find matching learner for model type");
+	}
+
+	/**
+	 * Reads the labels, accuracy and bias of a model in the CompactLogistic layout, only noting where in bytes the
+	 * features and each label's weights are for a LazyWeightMatrix to decode when they're first used. Models in any
+	 * other layout are read in full.
+	 */
+	protected static Learner readLazily(byte[] bytes) throws IOException
+	{
+		CodedInputStream input = CodedInputStream.newInstance(bytes);
+
+		input.setSizeLimit(Integer.MAX_VALUE);
+
+		LearnerType type = null;
+		LogisticLearner logistic = null;
+
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case Model.LEARNERTYPE_FIELD_NUMBER:
+				type = LearnerType.valueOf(input.readEnum());
+				break;
+
+			case Model.COMPACTLOGISTIC_FIELD_NUMBER:
+				int limit = input.pushLimit(input.readRawVarint32());
+
+				logistic = scanCompactLogistic(input, bytes);
+
+				input.popLimit(limit);
+				break;
+
+			case Model.LOGISTIC_FIELD_NUMBER:
+			case Model.QUANTIZEDLOGISTIC_FIELD_NUMBER:
+				return read(CodedInputStream.newInstance(bytes));
+
+			default:
+				input.skipField(tag);
+			}
+		}
+
+		if (type != null && logistic != null)
+		{
+			return logistic;
+		}
+
+		throw new InvalidProtocolBufferException("Unable to find matching learner for model type");
+	}
+
+	private static LogisticLearner scanCompactLogistic(CodedInputStream input, byte[] bytes) throws IOException
+	{
+		List<String> labels = Lists.newArrayList();
+		double accuracy = 0.0;
+		int rows = 0;
+		int featuresStart = 0;
+		int featuresEnd = 0;
+		double[] bias = new double[0];
+		int[] weightsStarts = null;
+		int[] weightsLengths = null;
+		int model = 0;
+
+		while (true)
+		{
+			int position = input.getTotalBytesRead();
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case CompactLogistic.LABELS_FIELD_NUMBER:
+				labels.add(input.readString());
+				break;
+
+			case CompactLogistic.ACCURACY_FIELD_NUMBER:
+				accuracy = input.readDouble();
+				break;
+
+			case CompactLogistic.FEATURE_FIELD_NUMBER:
+				if (model > 0)
+				{
+					throw new InvalidProtocolBufferException("Features must come before the label weights");
+				}
+
+				if (rows++ == 0)
+				{
+					featuresStart = position;
+				}
+
+				input.skipField(tag);
+				featuresEnd = input.getTotalBytesRead();
+				break;
+
+			case CompactLogistic.BIAS_FIELD_NUMBER:
+				if (model > 0)
+				{
+					throw new InvalidProtocolBufferException("Bias must come before the label weights");
+				}
+
+				bias = readPacked(input, tag);
+				break;
+
+			case CompactLogistic.WEIGHTS_FIELD_NUMBER:
+				if (model >= bias.length)
+				{
+					throw new InvalidProtocolBufferException("More label weights than biases");
+				}
+
+				if (weightsStarts == null)
+				{
+					weightsStarts = new int[bias.length];
+					weightsLengths = new int[bias.length];
+				}
+
+				weightsLengths[model] = input.readRawVarint32();
+				weightsStarts[model] = input.getTotalBytesRead();
+
+				input.skipRawBytes(weightsLengths[model++]);
+				break;
+
+			default:
+				input.skipField(tag);
+			}
+		}
+
+		if (model != bias.length)
+		{
+			throw new InvalidProtocolBufferException("Expected weights for " + bias.length + " labels, found " + model);
+		}
+
+		return new LogisticLearner(labels, new LazyWeightMatrix(bytes, rows, featuresStart, featuresEnd, bias, weightsStarts, weightsLengths), accuracy, LogisticFunction.EXACT);
+	}
+
+	/**
+	 * Decodes the length bytes from start, which hold the rows feature fields of a CompactLogistic, into a dictionary.
+	 */
+	protected static FeatureIndex readFeatures(byte[] bytes, int start, int length, int rows) throws IOException
+	{
+		CodedInputStream input = CodedInputStream.newInstance(bytes, start, length);
+		FeatureIndex featureIdx = new FeatureIndex(rows);
+
+		input.setSizeLimit(Integer.MAX_VALUE);
+
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			if (WireFormat.getTagFieldNumber(tag) == CompactLogistic.FEATURE_FIELD_NUMBER)
+			{
+				featureIdx.add(input.readString());
+			}
+			else
+			{
+				input.skipField(tag);
+			}
+		}
+
+		if (featureIdx.size() != rows)
+		{
+			throw new InvalidProtocolBufferException("Expected " + rows + " distinct features, found " + featureIdx.size());
+		}
+
+		return featureIdx;
+	}
+
+	/**
+	 * Decodes the LabelWeights message of length bytes from start into the weights and offsets of each feature row.
+	 */
+	protected static void readLabelWeights(byte[] bytes, int start, int length, double[] weights, double[] offsets) throws IOException
+	{
+		CodedInputStream input = CodedInputStream.newInstance(bytes, start, length);
+
+		input.setSizeLimit(Integer.MAX_VALUE);
+
+		readLabelWeights(input, weights, offsets, 0, 1);
+	}
+
+	private static LogisticLearner readLogistic(CodedInputStream input) throws IOException
+	{
+		List<LogisticInternalLearner> internalLearners = Lists.newArrayList();
+		List<String> labels = Lists.newArrayList();
+		double accuracy = 0.0;
+
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case Logistic.INTERNALS_FIELD_NUMBER:
+				InternalLogistic.Builder internal = InternalLogistic.newBuilder();
+
+				input.readMessage(internal, ExtensionRegistryLite.getEmptyRegistry());
+
+				internalLearners.add(new LogisticInternalLearner(internal.build()));
+				break;
+
+			case Logistic.LABELS_FIELD_NUMBER:
+				labels.add(input.readString());
+				break;
+
+			case Logistic.ACCURACY_FIELD_NUMBER:
+				accuracy = input.readDouble();
+				break;
+
+			default:
+				input.skipField(tag);
+			}
+		}
+
+		return new LogisticLearner(internalLearners, labels, accuracy, LogisticFunction.EXACT);
+	}
+
+	/**
+	 * Reads a CompactLogistic straight into the interleaved arrays of a HeapWeightMatrix. The dictionary and bias must
+	 * come before the weights, as they do when written by write or by the generated message classes.
+	 */
+	private static LogisticLearner readCompactLogistic(CodedInputStream input) throws IOException
+	{
+		List<String> labels = Lists.newArrayList();
+		double accuracy = 0.0;
+		FeatureIndex featureIdx = new FeatureIndex(0);
+		double[] bias = new double[0];
+		double[] weights = null;
+		double[] offsets = null;
+		int model = 0;
+
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case CompactLogistic.LABELS_FIELD_NUMBER:
+				labels.add(input.readString());
+				break;
+
+			case CompactLogistic.ACCURACY_FIELD_NUMBER:
+				accuracy = input.readDouble();
+				break;
+
+			case CompactLogistic.FEATURE_FIELD_NUMBER:
+				if (weights != null)
+				{
+					throw new InvalidProtocolBufferException("Features must come before the label weights");
+				}
+
+				featureIdx.add(input.readString());
+				break;
+
+			case CompactLogistic.BIAS_FIELD_NUMBER:
+				if (weights != null)
+				{
+					throw new InvalidProtocolBufferException("Bias must come before the label weights");
+				}
+
+				bias = readPacked(input, tag);
+				break;
+
+			case CompactLogistic.WEIGHTS_FIELD_NUMBER:
+				if (model >= bias.length)
+				{
+					throw new InvalidProtocolBufferException("More label weights than biases");
+				}
+
+				if (weights == null)
+				{
+					weights = new double[featureIdx.size() * bias.length];
+					offsets = new double[featureIdx.size() * bias.length];
+				}
+
+				int limit = input.pushLimit(input.readRawVarint32());
+
+				readLabelWeights(input, weights, offsets, model++, bias.length);
+
+				input.popLimit(limit);
+				break;
+
+			default:
+				input.skipField(tag);
+			}
+		}
+
+		if (model != bias.length)
+		{
+			throw new InvalidProtocolBufferException("Expected weights for " + bias.length + " labels, found " + model);
+		}
+
+		if (weights == null)
+		{
+			weights = new double[0];
+			offsets = new double[0];
+		}
+
+		return new LogisticLearner(labels, new HeapWeightMatrix(featureIdx, bias.length, weights, offsets, bias), accuracy, LogisticFunction.EXACT);
+	}
+
+	private static void readLabelWeights(CodedInputStream input, double[] weights, double[] offsets, int model, int models) throws IOException
+	{
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case LabelWeights.WEIGHT_FIELD_NUMBER:
+				readPackedColumn(input, tag, weights, model, models);
+				break;
+
+			case LabelWeights.OFFSET_FIELD_NUMBER:
+				readPackedColumn(input, tag, offsets, model, models);
+				break;
+
+			default:
+				input.skipField(tag);
+			}
+		}
+	}
+
+	/**
+	 * Reads a QuantizedLogistic straight into a QuantizedWeightMatrix. As for a CompactLogistic, the dictionary, bias
+	 * and precision must come before the weights.
+	 */
+	private static LogisticLearner readQuantizedLogistic(CodedInputStream input) throws IOException
+	{
+		List<String> labels = Lists.newArrayList();
+		double accuracy = 0.0;
+		WeightPrecision precision = WeightPrecision.FLOAT16;
+		FeatureIndex featureIdx = new FeatureIndex(0);
+		double[] bias = new double[0];
+		QuantizedWeightMatrix weights = null;
+		int model = 0;
+
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case QuantizedLogistic.LABELS_FIELD_NUMBER:
+				labels.add(input.readString());
+				break;
+
+			case QuantizedLogistic.ACCURACY_FIELD_NUMBER:
+				accuracy = input.readDouble();
+				break;
+
+			case QuantizedLogistic.PRECISION_FIELD_NUMBER:
+				QuantizedLogistic.Precision storedPrecision = QuantizedLogistic.Precision.valueOf(input.readEnum());
+
+				if (storedPrecision == null || weights != null)
+				{
+					throw new InvalidProtocolBufferException("Unknown precision, or precision after the label weights");
+				}
+
+				precision = WeightPrecision.valueOf(storedPrecision.name());
+				break;
+
+			case QuantizedLogistic.FEATURE_FIELD_NUMBER:
+				if (weights != null)
+				{
+					throw new InvalidProtocolBufferException("Features must come before the label weights");
+				}
+
+				featureIdx.add(input.readString());
+				break;
+
+			case QuantizedLogistic.BIAS_FIELD_NUMBER:
+				if (weights != null)
+				{
+					throw new InvalidProtocolBufferException("Bias must come before the label weights");
+				}
+
+				bias = readPacked(input, tag);
+				break;
+
+			case QuantizedLogistic.WEIGHTS_FIELD_NUMBER:
+				if (model >= bias.length)
+				{
+					throw new InvalidProtocolBufferException("More label weights than biases");
+				}
+
+				if (weights == null)
+				{
+					weights = new QuantizedWeightMatrix(featureIdx, bias.length, precision, bias);
+				}
+
+				int limit = input.pushLimit(input.readRawVarint32());
+
+				readQuantizedLabelWeights(input, weights, model++);
+
+				input.popLimit(limit);
+				break;
+
+			default:
+				input.skipField(tag);
+			}
+		}
+
+		if (model != bias.length)
+		{
+			throw new InvalidProtocolBufferException("Expected weights for " + bias.length + " labels, found " + model);
+		}
+
+		if (weights == null)
+		{
+			weights = new QuantizedWeightMatrix(featureIdx, 0, precision, bias);
+		}
+
+		return new LogisticLearner(labels, weights, accuracy, LogisticFunction.EXACT);
+	}
+
+	private static void readQuantizedLabelWeights(CodedInputStream input, QuantizedWeightMatrix weights, int model) throws IOException
+	{
+		double weightScale = 0.0;
+		double offsetScale = 0.0;
+
+		while (true)
+		{
+			int tag = input.readTag();
+
+			if (tag == 0)
+			{
+				break;
+			}
+
+			switch (WireFormat.getTagFieldNumber(tag))
+			{
+			case QuantizedLogistic.LabelWeights.WEIGHTSCALE_FIELD_NUMBER:
+				weightScale = input.readDouble();
+				break;
+
+			case QuantizedLogistic.LabelWeights.OFFSETSCALE_FIELD_NUMBER:
+				offsetScale = input.readDouble();
+				break;
+
+			case QuantizedLogistic.LabelWeights.WEIGHT_FIELD_NUMBER:
+				readQuantizedColumn(input, tag, weights, model, true);
+				break;
+
+			case QuantizedLogistic.LabelWeights.OFFSET_FIELD_NUMBER:
+				readQuantizedColumn(input, tag, weights, model, false);
+				break;
+
+			default:
+				input.skipField(tag);
+			}
+		}
+
+		weights.setScales(model, weightScale, offsetScale);
+	}
+
+	/**
+	 * Reads a bytes field of one stored value per feature row, least significant byte first, into the model's weights
+	 * or its offsets.
+	 */
+	private static void readQuantizedColumn(CodedInputStream input, int tag, QuantizedWeightMatrix weights, int model, boolean isWeight) throws IOException
+	{
+		int bytes = weights.getPrecision().getBytes();
+		int rows = weights.getRowCount();
+
+		if ((tag & 7) != WireFormat.WIRETYPE_LENGTH_DELIMITED)
+		{
+			throw new InvalidProtocolBufferException("Quantized values must be a bytes field");
+		}
+
+		int length = input.readRawVarint32();
+
+		if (length != bytes * rows)
+		{
+			throw new InvalidProtocolBufferException("Expected " + rows + " quantized values, found " + length / bytes);
+		}
+
+		for (int row = 0; row < rows; row++)
+		{
+			int value = 0;
+
+			for (int b = 0; b < bytes; b++)
+			{
+				value |= (input.readRawByte() & 0xff) << (8 * b);
+			}
+
+			if (isWeight)
+			{
+				weights.setQuantizedWeight(row, model, value);
+			}
+			else
+			{
+				weights.setQuantizedOffset(row, model, value);
+			}
+		}
+	}
+
+	/**
+	 * Reads a packed repeated double field into every models'th entry of into starting at model, one per feature row.
+	 */
+	private static void readPackedColumn(CodedInputStream input, int tag, double[] into, int model, int models) throws IOException
+	{
+		int rows = into.length / models;
+
+		checkPacked(tag);
+
+		int length = input.readRawVarint32();
+
+		if (length != DOUBLE_SIZE * rows)
+		{
+			throw new InvalidProtocolBufferException("Expected " + rows + " label weights, found " + length / DOUBLE_SIZE);
+		}
+
+		for (int row = 0; row < rows; row++)
+		{
+			into[row * models + model] = input.readDouble();
+		}
+	}
+
+	private static double[] readPacked(CodedInputStream input, int tag) throws IOException
+	{
+		checkPacked(tag);
+
+		int length = input.readRawVarint32();
+		double[] values = new double[length / DOUBLE_SIZE];
+
+		for (int i = 0; i < values.length; i++)
+		{
+			values[i] = input.readDouble();
+		}
+
+		return values;
+	}
+
+	private static void checkPacked(int tag) throws InvalidProtocolBufferException
+	{
+		// The low bits of a tag are its wire type
+		if ((tag & 7) != WireFormat.WIRETYPE_LENGTH_DELIMITED)
+		{
+			throw new InvalidProtocolBufferException("Repeated doubles must be packed");
+		}
+	}
+}
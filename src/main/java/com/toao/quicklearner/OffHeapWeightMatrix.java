@@ -0,0 +1,49 @@
+package com.toao.quicklearner;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A copy of a WeightMatrix in direct memory outside the Java heap, in the BufferWeightMatrix layout. However many
+ * features the models have, the garbage collector only ever sees a handful of buffer objects, so its pauses don't grow
+ * with the model.
+ *
+ * The memory is released by close, after which any use of the matrix throws an IllegalStateException. It must not be
+ * closed while another thread may still be scoring with it.
+ */
+public class OffHeapWeightMatrix extends BufferWeightMatrix implements Closeable
+{
+	private final ChunkedBuffer buffer;
+
+	private OffHeapWeightMatrix(ChunkedBuffer buffer)
+	{
+		super(buffer, 0);
+
+		this.buffer = buffer;
+	}
+
+	protected static OffHeapWeightMatrix copyOf(WeightMatrix weights)
+	{
+		ChunkedBuffer buffer = ChunkedBuffer.allocateDirect(BufferWeightMatrix.size(weights));
+		ModelFile.Output out = new ModelFile.Output(buffer.getOutputStream());
+
+		try
+		{
+			BufferWeightMatrix.write(weights, out);
+			out.close();
+		}
+		catch (IOException e)
+		{
+			// Writing to memory doesn't do I/O
+			throw new RuntimeException(e);
+		}
+
+		return new OffHeapWeightMatrix(buffer);
+	}
+
+	@Override
+	public synchronized void close()
+	{
+		buffer.free();
+	}
+}
@@ -0,0 +1,50 @@
+package com.toao.quicklearner;
+
+/**
+ * A quantized LogisticLearner, as returned by LogisticLearner.quantize, with how far its probabilities strayed from
+ * the full precision learner's over the examples it was checked against.
+ */
+public class QuantizationReport
+{
+	private final LogisticLearner learner;
+	private final WeightPrecision precision;
+	private final double maxProbabilityDeviation;
+	private final int exampleCount;
+
+	protected QuantizationReport(LogisticLearner learner, WeightPrecision precision, double maxProbabilityDeviation, int exampleCount)
+	{
+		this.learner = learner;
+		this.precision = precision;
+		this.maxProbabilityDeviation = maxProbabilityDeviation;
+		this.exampleCount = exampleCount;
+	}
+
+	public LogisticLearner getLearner()
+	{
+		return learner;
+	}
+
+	public WeightPrecision getPrecision()
+	{
+		return precision;
+	}
+
+	/**
+	 * The largest absolute difference between the two learners' probability of any label for any of the examples.
+	 */
+	public double getMaxProbabilityDeviation()
+	{
+		return maxProbabilityDeviation;
+	}
+
+	public int getExampleCount()
+	{
+		return exampleCount;
+	}
+
+	@Override
+	public String toString()
+	{
+		return precision + ": max probability deviation " + maxProbabilityDeviation + " over " + exampleCount + " examples";
+	}
+}
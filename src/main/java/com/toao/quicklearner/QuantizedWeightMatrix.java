@@ -0,0 +1,239 @@
+package com.toao.quicklearner;
+
+/**
+ * A WeightMatrix holding its weights and offsets at a reduced WeightPrecision, a quarter or an eighth of the memory of
+ * a HeapWeightMatrix's doubles, and dequantizing them as each row is scored.
+ *
+ * The quantized weight and offset of feature row and model are at row * models + model, in a short[] for FLOAT16 or
+ * a byte[] for INT8. A stored value times its model's weight or offset scale is the weight or offset it stands for.
+ */
+public class QuantizedWeightMatrix extends WeightMatrix
+{
+	private final FeatureIndex featureIdx;
+	private final int models;
+	private final WeightPrecision precision;
+	private final double[] bias;
+	private final double[] weightScales;
+	private final double[] offsetScales;
+
+	private final short[] halfWeights;
+	private final short[] halfOffsets;
+	private final byte[] byteWeights;
+	private final byte[] byteOffsets;
+
+	// For INT8, each model's scales divided by the number of steps, so a stored byte dequantizes with one multiply
+	private final double[] weightSteps;
+	private final double[] offsetSteps;
+
+	/**
+	 * An empty matrix, all of whose scales, weights and offsets are zero until set.
+	 */
+	protected QuantizedWeightMatrix(FeatureIndex featureIdx, int models, WeightPrecision precision, double[] bias)
+	{
+		int size = featureIdx.size() * models;
+
+		this.featureIdx = featureIdx;
+		this.models = models;
+		this.precision = precision;
+		this.bias = bias;
+
+		this.halfWeights = precision == WeightPrecision.FLOAT16 ? new short[size] : null;
+		this.halfOffsets = precision == WeightPrecision.FLOAT16 ? new short[size] : null;
+		this.byteWeights = precision == WeightPrecision.INT8 ? new byte[size] : null;
+		this.byteOffsets = precision == WeightPrecision.INT8 ? new byte[size] : null;
+
+		this.weightScales = new double[models];
+		this.offsetScales = new double[models];
+		this.weightSteps = new double[models];
+		this.offsetSteps = new double[models];
+	}
+
+	/**
+	 * Quantizes the weights, which keep their rows, with each model scaled by the largest magnitude among its weights
+	 * and among its offsets.
+	 */
+	protected static QuantizedWeightMatrix quantize(WeightMatrix weights, WeightPrecision precision)
+	{
+		int models = weights.getModelCount();
+		int rows = weights.getRowCount();
+
+		FeatureIndex featureIdx = new FeatureIndex(rows);
+		double[] bias = new double[models];
+		double[] weightScales = new double[models];
+		double[] offsetScales = new double[models];
+
+		for (int row = 0; row < rows; row++)
+		{
+			featureIdx.add(weights.getFeature(row));
+
+			for (int m = 0; m < models; m++)
+			{
+				weightScales[m] = Math.max(weightScales[m], Math.abs(weights.getWeight(row, m)));
+				offsetScales[m] = Math.max(offsetScales[m], Math.abs(weights.getOffset(row, m)));
+			}
+		}
+
+		for (int m = 0; m < models; m++)
+		{
+			bias[m] = weights.getBias(m);
+		}
+
+		QuantizedWeightMatrix quantized = new QuantizedWeightMatrix(featureIdx, models, precision, bias);
+
+		for (int m = 0; m < models; m++)
+		{
+			quantized.setScales(m, weightScales[m], offsetScales[m]);
+		}
+
+		for (int row = 0; row < rows; row++)
+		{
+			for (int m = 0; m < models; m++)
+			{
+				quantized.setQuantizedWeight(row, m, precision.quantize(unit(weights.getWeight(row, m), weightScales[m])));
+				quantized.setQuantizedOffset(row, m, precision.quantize(unit(weights.getOffset(row, m), offsetScales[m])));
+			}
+		}
+
+		return quantized;
+	}
+
+	private static double unit(double value, double scale)
+	{
+		return scale == 0.0 ? 0.0 : value / scale;
+	}
+
+	protected WeightPrecision getPrecision()
+	{
+		return precision;
+	}
+
+	protected void setScales(int model, double weightScale, double offsetScale)
+	{
+		weightScales[model] = weightScale;
+		offsetScales[model] = offsetScale;
+		weightSteps[model] = weightScale / WeightPrecision.INT8_STEPS;
+		offsetSteps[model] = offsetScale / WeightPrecision.INT8_STEPS;
+	}
+
+	protected double getWeightScale(int model)
+	{
+		return weightScales[model];
+	}
+
+	protected double getOffsetScale(int model)
+	{
+		return offsetScales[model];
+	}
+
+	/**
+	 * The stored bits of the weight, as returned by WeightPrecision.quantize.
+	 */
+	protected int getQuantizedWeight(int row, int model)
+	{
+		int pos = row * models + model;
+
+		return precision == WeightPrecision.FLOAT16 ? halfWeights[pos] & 0xffff : byteWeights[pos];
+	}
+
+	protected int getQuantizedOffset(int row, int model)
+	{
+		int pos = row * models + model;
+
+		return precision == WeightPrecision.FLOAT16 ? halfOffsets[pos] & 0xffff : byteOffsets[pos];
+	}
+
+	protected void setQuantizedWeight(int row, int model, int weight)
+	{
+		if (precision == WeightPrecision.FLOAT16)
+		{
+			halfWeights[row * models + model] = (short) weight;
+		}
+		else
+		{
+			byteWeights[row * models + model] = (byte) weight;
+		}
+	}
+
+	protected void setQuantizedOffset(int row, int model, int offset)
+	{
+		if (precision == WeightPrecision.FLOAT16)
+		{
+			halfOffsets[row * models + model] = (short) offset;
+		}
+		else
+		{
+			byteOffsets[row * models + model] = (byte) offset;
+		}
+	}
+
+	@Override
+	protected int getModelCount()
+	{
+		return models;
+	}
+
+	@Override
+	protected int getRowCount()
+	{
+		return featureIdx.size();
+	}
+
+	@Override
+	protected String getFeature(int row)
+	{
+		return featureIdx.getFeature(row);
+	}
+
+	@Override
+	protected int getRow(String feature)
+	{
+		return featureIdx.get(feature);
+	}
+
+	@Override
+	protected double getBias(int model)
+	{
+		return bias[model];
+	}
+
+	@Override
+	protected double getWeight(int row, int model)
+	{
+		return precision.dequantize(getQuantizedWeight(row, model)) * weightScales[model];
+	}
+
+	@Override
+	protected double getOffset(int row, int model)
+	{
+		return precision.dequantize(getQuantizedOffset(row, model)) * offsetScales[model];
+	}
+
+	@Override
+	protected void setBias(double[] logits, int offset)
+	{
+		System.arraycopy(bias, 0, logits, offset, models);
+	}
+
+	@Override
+	protected void addRow(int row, double value, double[] logits, int offset)
+	{
+		final int start = row * models;
+
+		if (precision == WeightPrecision.INT8)
+		{
+			for (int m = 0; m < models; m++)
+			{
+				logits[offset + m] += byteWeights[start + m] * weightSteps[m] * value + byteOffsets[start + m] * offsetSteps[m];
+			}
+		}
+		else
+		{
+			for (int m = 0; m < models; m++)
+			{
+				double weight = precision.dequantize(halfWeights[start + m]) * weightScales[m];
+
+				logits[offset + m] += weight * value + precision.dequantize(halfOffsets[start + m]) * offsetScales[m];
+			}
+		}
+	}
+}
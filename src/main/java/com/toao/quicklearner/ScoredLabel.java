@@ -0,0 +1,32 @@
+package com.toao.quicklearner;
+
+/**
+ * A label and its probability, as returned by Learner.topK.
+ */
+public class ScoredLabel
+{
+	private final String label;
+	private final double probability;
+
+	protected ScoredLabel(String label, double probability)
+	{
+		this.label = label;
+		this.probability = probability;
+	}
+
+	public String getLabel()
+	{
+		return label;
+	}
+
+	public double getProbability()
+	{
+		return probability;
+	}
+
+	@Override
+	public String toString()
+	{
+		return label + "=" + probability;
+	}
+}
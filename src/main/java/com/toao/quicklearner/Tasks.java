@@ -0,0 +1,89 @@
+package com.toao.quicklearner;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Runs independent pieces of training work, optionally spread over an Executor.
+ *
+ * The calling thread always helps: once every task has been handed to the executor it runs any that haven't been
+ * picked up yet itself. This means nested calls (a parallel sweep whose tasks train labels in parallel, say) can never
+ * deadlock a bounded pool, and a saturated or rejecting executor simply degrades to sequential execution.
+ */
+public class Tasks
+{
+	private Tasks()
+	{
+	}
+
+	/**
+	 * Runs all of the tasks and returns their results in the same order as the tasks. If executor is null the tasks
+	 * are run one after the other on the calling thread.
+	 */
+	protected static <T> List<T> invokeAll(Executor executor, List<? extends Callable<T>> tasks)
+	{
+		List<FutureTask<T>> futures = Lists.newArrayListWithCapacity(tasks.size());
+
+		for (Callable<T> task : tasks)
+		{
+			futures.add(new FutureTask<T>(task));
+		}
+
+		if (executor != null && futures.size() > 1)
+		{
+			// The first task is left for the calling thread
+			for (int c = 1; c < futures.size(); c++)
+			{
+				try
+				{
+					executor.execute(futures.get(c));
+				}
+				catch (RejectedExecutionException e)
+				{
+					// Picked up by the calling thread below
+				}
+			}
+		}
+
+		List<T> results = Lists.newArrayListWithCapacity(futures.size());
+
+		for (FutureTask<T> future : futures)
+		{
+			// A no-op if the task has already been started elsewhere
+			future.run();
+
+			try
+			{
+				results.add(future.get());
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for training tasks", e);
+			}
+			catch (ExecutionException e)
+			{
+				Throwable cause = e.getCause();
+
+				if (cause instanceof RuntimeException)
+				{
+					throw (RuntimeException) cause;
+				}
+				else if (cause instanceof Error)
+				{
+					throw (Error) cause;
+				}
+
+				throw new RuntimeException(cause);
+			}
+		}
+
+		return results;
+	}
+}
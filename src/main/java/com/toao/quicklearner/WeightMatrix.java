@@ -0,0 +1,151 @@
+package com.toao.quicklearner;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * The folded weights of every one-vs-rest model of a LogisticLearner, interleaved by feature.
+ *
+ * A feature name maps once, through a dictionary shared by all of the models, to a row holding the effective weight
+ * and offset of each of the models side by side, so a single lookup per input feature scores every model in one pass.
+ * Subclasses decide where the dictionary and rows are stored: HeapWeightMatrix keeps them in Java arrays and
+ * BufferWeightMatrix reads them in place from a mapped model file or, as an OffHeapWeightMatrix, from direct memory.
+ */
+public abstract class WeightMatrix
+{
+	protected abstract int getModelCount();
+
+	/**
+	 * The number of features the models have weights for, whose rows run from 0 to this - 1.
+	 */
+	protected abstract int getRowCount();
+
+	protected abstract String getFeature(int row);
+
+	/**
+	 * The feature's row, or -1 if no model has weights for it.
+	 */
+	protected abstract int getRow(String feature);
+
+	protected abstract double getBias(int model);
+
+	protected abstract double getWeight(int row, int model);
+
+	protected abstract double getOffset(int row, int model);
+
+	/**
+	 * Writes the bias of every model into logits, starting at offset.
+	 */
+	protected abstract void setBias(double[] logits, int offset);
+
+	/**
+	 * Adds the contribution of the row's feature, with the given value, to the logit of every model.
+	 */
+	protected abstract void addRow(int row, double value, double[] logits, int offset);
+
+	/**
+	 * Releases anything the weights hold outside of the Java heap, by default nothing.
+	 */
+	protected void close()
+	{
+	}
+
+	/**
+	 * Writes the logit of every model for the features into logits, starting at offset.
+	 */
+	protected void logits(Map<String, Double> features, double[] logits, int offset)
+	{
+		setBias(logits, offset);
+
+		for (final Entry<String, Double> e : features.entrySet())
+		{
+			int row = getRow(e.getKey());
+
+			if (row >= 0)
+			{
+				addRow(row, e.getValue(), logits, offset);
+			}
+		}
+	}
+
+	/**
+	 * The logit of just the one model for the features, reading none of the other models' weights.
+	 */
+	protected double logit(Map<String, Double> features, int model)
+	{
+		double logit = getBias(model);
+
+		for (final Entry<String, Double> e : features.entrySet())
+		{
+			int row = getRow(e.getKey());
+
+			if (row >= 0)
+			{
+				logit += getWeight(row, model) * e.getValue() + getOffset(row, model);
+			}
+		}
+
+		return logit;
+	}
+
+	/**
+	 * As logits(Map, double[], int) for binary features, each present feature having the value 1.0.
+	 */
+	protected void logits(Set<String> features, double[] logits, int offset)
+	{
+		setBias(logits, offset);
+
+		for (final String feature : features)
+		{
+			int row = getRow(feature);
+
+			if (row >= 0)
+			{
+				addRow(row, 1.0, logits, offset);
+			}
+		}
+	}
+
+	/**
+	 * As logits(Map, double[], int) for features already encoded against this matrix' dictionary by encode.
+	 */
+	protected void logits(FeatureVector features, double[] logits, int offset)
+	{
+		checkArgument(features.isEncodedBy(this), "FeatureVector was encoded by a different learner.");
+
+		setBias(logits, offset);
+
+		for (int i = 0; i < features.size(); i++)
+		{
+			addRow(features.getId(i), features.getValue(i), logits, offset);
+		}
+	}
+
+	/**
+	 * Encodes the features as their rows in this matrix, dropping any the models have no weights for.
+	 */
+	protected FeatureVector encode(Map<String, Double> features)
+	{
+		int[] ids = new int[features.size()];
+		double[] values = new double[features.size()];
+		int size = 0;
+
+		for (final Entry<String, Double> e : features.entrySet())
+		{
+			int row = getRow(e.getKey());
+
+			if (row >= 0)
+			{
+				ids[size] = row;
+				values[size] = e.getValue();
+				size++;
+			}
+		}
+
+		return new FeatureVector(this, Arrays.copyOf(ids, size), Arrays.copyOf(values, size));
+	}
+}
@@ -0,0 +1,152 @@
+package com.toao.quicklearner;
+
+/**
+ * How a quantized LogisticLearner stores its weights and offsets. Each label's weights, and separately its offsets, are
+ * divided by a per-label scale, the largest magnitude among them, and the resulting values in [-1, 1] are stored at the
+ * given precision. The bias of each label is kept exactly.
+ *
+ * FLOAT16 keeps IEEE 754 half precision floats, 2 bytes a value with a relative error of at most 2^-11. INT8 keeps
+ * signed bytes spread evenly over [-127, 127], 1 byte a value with an error of at most 1/254 of the label's scale.
+ */
+public enum WeightPrecision
+{
+	FLOAT16(2)
+	{
+		@Override
+		public int quantize(double unit)
+		{
+			return toHalf((float) unit);
+		}
+
+		@Override
+		public double dequantize(int quantized)
+		{
+			return Halves.VALUES[quantized & 0xffff];
+		}
+	},
+
+	INT8(1)
+	{
+		@Override
+		public int quantize(double unit)
+		{
+			return (int) Math.round(Math.max(-1.0, Math.min(1.0, unit)) * INT8_STEPS);
+		}
+
+		@Override
+		public double dequantize(int quantized)
+		{
+			return (byte) quantized / (double) INT8_STEPS;
+		}
+	};
+
+	protected static final int INT8_STEPS = 127;
+
+	private final int bytes;
+
+	private WeightPrecision(int bytes)
+	{
+		this.bytes = bytes;
+	}
+
+	/**
+	 * The number of bytes each stored value takes.
+	 */
+	public int getBytes()
+	{
+		return bytes;
+	}
+
+	/**
+	 * The stored bits, in the low getBytes() bytes of the result, of the value in [-1, 1] nearest unit.
+	 */
+	public abstract int quantize(double unit);
+
+	/**
+	 * The value in [-1, 1] that quantize stored as quantized.
+	 */
+	public abstract double dequantize(int quantized);
+
+	/**
+	 * Rounds f to the nearest half precision float, ties to even, as its 16 bits.
+	 */
+	private static int toHalf(float f)
+	{
+		int bits = Float.floatToIntBits(f);
+		int sign = (bits >>> 16) & 0x8000;
+		int exponent = ((bits >>> 23) & 0xff) - 127 + 15;
+		int mantissa = bits & 0x7fffff;
+
+		if (exponent >= 0x1f)
+		{
+			// Too large, infinite or NaN: none of which a value in [-1, 1] can be
+			return sign | 0x7c00 | (Float.isNaN(f) ? 0x200 : 0);
+		}
+
+		if (exponent <= 0)
+		{
+			if (exponent < -10)
+			{
+				return sign;
+			}
+
+			// A subnormal half, whose mantissa is the value in units of 2^-24
+			return sign | roundShift(mantissa | 0x800000, 14 - exponent);
+		}
+
+		// Rounding up may carry into the exponent, which is still the right half
+		return sign | roundShift((exponent << 23) | mantissa, 13);
+	}
+
+	private static int roundShift(int value, int shift)
+	{
+		int result = value >>> shift;
+		int remainder = value & ((1 << shift) - 1);
+		int half = 1 << (shift - 1);
+
+		if (remainder > half || (remainder == half && (result & 1) == 1))
+		{
+			result++;
+		}
+
+		return result;
+	}
+
+	private static double fromHalf(int half)
+	{
+		int exponent = (half >>> 10) & 0x1f;
+		int mantissa = half & 0x3ff;
+		double magnitude;
+
+		if (exponent == 0)
+		{
+			magnitude = mantissa * 0x1p-24;
+		}
+		else if (exponent == 0x1f)
+		{
+			magnitude = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+		}
+		else
+		{
+			magnitude = Math.scalb(1024 + mantissa, exponent - 25);
+		}
+
+		return (half & 0x8000) != 0 ? -magnitude : magnitude;
+	}
+
+	/**
+	 * Every half precision value by its bits, built the first time FLOAT16 values are read.
+	 */
+	private static class Halves
+	{
+		static final double[] VALUES = new double[1 << 16];
+
+		static
+		{
+			for (int h = 0; h < VALUES.length; h++)
+			{
+				VALUES[h] = fromHalf(h);
+			}
+		}
+	}
+}
@@ -19,6 +19,16 @@ public final class LearnerModel {
     boolean hasLogistic();
     com.toao.quicklearner.persistence.LearnerModel.Model.Logistic getLogistic();
     com.toao.quicklearner.persistence.LearnerModel.Model.LogisticOrBuilder getLogisticOrBuilder();
+    
+    // optional .com.toao.quicklearner.persistence.Model.CompactLogistic compactLogistic = 3;
+    boolean hasCompactLogistic();
+    com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic getCompactLogistic();
+    com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogisticOrBuilder getCompactLogisticOrBuilder();
+    
+    // optional .com.toao.quicklearner.persistence.Model.QuantizedLogistic quantizedLogistic = 4;
+    boolean hasQuantizedLogistic();
+    com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic getQuantizedLogistic();
+    com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogisticOrBuilder getQuantizedLogisticOrBuilder();
   }
   public static final class Model extends
       com.google.protobuf.GeneratedMessage
@@ -51,9 +61,13 @@ public final class LearnerModel {
     public enum LearnerType
         implements com.google.protobuf.ProtocolMessageEnum {
       LOGISTIC(0, 0),
+      COMPACT_LOGISTIC(1, 1),
+      QUANTIZED_LOGISTIC(2, 2),
       ;
       
       public static final int LOGISTIC_VALUE = 0;
+      public static final int COMPACT_LOGISTIC_VALUE = 1;
+      public static final int QUANTIZED_LOGISTIC_VALUE = 2;
       
       
       public final int getNumber() { return value; }
@@ -61,6 +75,8 @@ public final class LearnerModel {
       public static LearnerType valueOf(int value) {
         switch (value) {
           case 0: return LOGISTIC;
+          case 1: return COMPACT_LOGISTIC;
+          case 2: return QUANTIZED_LOGISTIC;
           default: return null;
         }
       }
@@ -91,7 +107,7 @@ public final class LearnerModel {
       }
       
       private static final LearnerType[] VALUES = {
-        LOGISTIC, 
+        LOGISTIC, COMPACT_LOGISTIC, QUANTIZED_LOGISTIC, 
       };
       
       public static LearnerType valueOf(
@@ -1540,255 +1556,3381 @@ public final class LearnerModel {
       // @@protoc_insertion_point(class_scope:com.toao.quicklearner.persistence.Model.Logistic)
     }
     
-    private int bitField0_;
-    // required .com.toao.quicklearner.persistence.Model.LearnerType learnerType = 1;
-    public static final int LEARNERTYPE_FIELD_NUMBER = 1;
-    private com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType learnerType_;
-    public boolean hasLearnerType() {
-      return ((bitField0_ & 0x00000001) == 0x00000001);
-    }
-    public com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType getLearnerType() {
-      return learnerType_;
-    }
-    
-    // optional .com.toao.quicklearner.persistence.Model.Logistic logistic = 2;
-    public static final int LOGISTIC_FIELD_NUMBER = 2;
-    private com.toao.quicklearner.persistence.LearnerModel.Model.Logistic logistic_;
-    public boolean hasLogistic() {
-      return ((bitField0_ & 0x00000002) == 0x00000002);
-    }
-    public com.toao.quicklearner.persistence.LearnerModel.Model.Logistic getLogistic() {
-      return logistic_;
-    }
-    public com.toao.quicklearner.persistence.LearnerModel.Model.LogisticOrBuilder getLogisticOrBuilder() {
-      return logistic_;
-    }
-    
-    private void initFields() {
-      learnerType_ = com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType.LOGISTIC;
-      logistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.getDefaultInstance();
-    }
-    private byte memoizedIsInitialized = -1;
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized != -1) return isInitialized == 1;
+    public interface CompactLogisticOrBuilder
+        extends com.google.protobuf.MessageOrBuilder {
       
-      if (!hasLearnerType()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
-      memoizedIsInitialized = 1;
-      return true;
-    }
-    
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      getSerializedSize();
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeEnum(1, learnerType_.getNumber());
-      }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeMessage(2, logistic_);
-      }
-      getUnknownFields().writeTo(output);
-    }
-    
-    private int memoizedSerializedSize = -1;
-    public int getSerializedSize() {
-      int size = memoizedSerializedSize;
-      if (size != -1) return size;
-    
-      size = 0;
-      if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeEnumSize(1, learnerType_.getNumber());
-      }
-      if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(2, logistic_);
-      }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSerializedSize = size;
-      return size;
-    }
-    
-    private static final long serialVersionUID = 0L;
-    @java.lang.Override
-    protected java.lang.Object writeReplace()
-        throws java.io.ObjectStreamException {
-      return super.writeReplace();
-    }
-    
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return newBuilder().mergeFrom(data).buildParsed();
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return newBuilder().mergeFrom(data, extensionRegistry)
-               .buildParsed();
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return newBuilder().mergeFrom(data).buildParsed();
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return newBuilder().mergeFrom(data, extensionRegistry)
-               .buildParsed();
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return newBuilder().mergeFrom(input).buildParsed();
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return newBuilder().mergeFrom(input, extensionRegistry)
-               .buildParsed();
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      Builder builder = newBuilder();
-      if (builder.mergeDelimitedFrom(input)) {
-        return builder.buildParsed();
-      } else {
-        return null;
-      }
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      Builder builder = newBuilder();
-      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
-        return builder.buildParsed();
-      } else {
-        return null;
-      }
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return newBuilder().mergeFrom(input).buildParsed();
-    }
-    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return newBuilder().mergeFrom(input, extensionRegistry)
-               .buildParsed();
-    }
-    
-    public static Builder newBuilder() { return Builder.create(); }
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.toao.quicklearner.persistence.LearnerModel.Model prototype) {
-      return newBuilder().mergeFrom(prototype);
-    }
-    public Builder toBuilder() { return newBuilder(this); }
-    
-    @java.lang.Override
-    protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
-    }
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.toao.quicklearner.persistence.LearnerModel.ModelOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_descriptor;
-      }
+      // repeated string labels = 1;
+      java.util.List<String> getLabelsList();
+      int getLabelsCount();
+      String getLabels(int index);
       
-      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_fieldAccessorTable;
-      }
+      // optional double accuracy = 2;
+      boolean hasAccuracy();
+      double getAccuracy();
       
-      // Construct using com.toao.quicklearner.persistence.LearnerModel.Model.newBuilder()
-      private Builder() {
-        maybeForceBuilderInitialization();
-      }
+      // repeated string feature = 3;
+      java.util.List<String> getFeatureList();
+      int getFeatureCount();
+      String getFeature(int index);
       
-      private Builder(BuilderParent parent) {
-        super(parent);
-        maybeForceBuilderInitialization();
-      }
-      private void maybeForceBuilderInitialization() {
-        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
-          getLogisticFieldBuilder();
-        }
-      }
-      private static Builder create() {
-        return new Builder();
-      }
+      // repeated double bias = 4 [packed = true];
+      java.util.List<java.lang.Double> getBiasList();
+      int getBiasCount();
+      double getBias(int index);
       
-      public Builder clear() {
-        super.clear();
-        learnerType_ = com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType.LOGISTIC;
-        bitField0_ = (bitField0_ & ~0x00000001);
-        if (logisticBuilder_ == null) {
-          logistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.getDefaultInstance();
-        } else {
-          logisticBuilder_.clear();
-        }
-        bitField0_ = (bitField0_ & ~0x00000002);
-        return this;
+      // repeated .com.toao.quicklearner.persistence.Model.CompactLogistic.LabelWeights weights = 5;
+      java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights> 
+          getWeightsList();
+      com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights getWeights(int index);
+      int getWeightsCount();
+      java.util.List<? extends com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder> 
+          getWeightsOrBuilderList();
+      com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder getWeightsOrBuilder(
+          int index);
+    }
+    public static final class CompactLogistic extends
+        com.google.protobuf.GeneratedMessage
+        implements CompactLogisticOrBuilder {
+      // Use CompactLogistic.newBuilder() to construct.
+      private CompactLogistic(Builder builder) {
+        super(builder);
       }
+      private CompactLogistic(boolean noInit) {}
       
-      public Builder clone() {
-        return create().mergeFrom(buildPartial());
+      private static final CompactLogistic defaultInstance;
+      public static CompactLogistic getDefaultInstance() {
+        return defaultInstance;
       }
       
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return com.toao.quicklearner.persistence.LearnerModel.Model.getDescriptor();
+      public CompactLogistic getDefaultInstanceForType() {
+        return defaultInstance;
       }
       
-      public com.toao.quicklearner.persistence.LearnerModel.Model getDefaultInstanceForType() {
-        return com.toao.quicklearner.persistence.LearnerModel.Model.getDefaultInstance();
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_descriptor;
       }
       
-      public com.toao.quicklearner.persistence.LearnerModel.Model build() {
-        com.toao.quicklearner.persistence.LearnerModel.Model result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
-        }
-        return result;
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_fieldAccessorTable;
       }
       
-      private com.toao.quicklearner.persistence.LearnerModel.Model buildParsed()
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        com.toao.quicklearner.persistence.LearnerModel.Model result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(
-            result).asInvalidProtocolBufferException();
-        }
-        return result;
+      public interface LabelWeightsOrBuilder
+          extends com.google.protobuf.MessageOrBuilder {
+        
+        // repeated double weight = 1 [packed = true];
+        java.util.List<java.lang.Double> getWeightList();
+        int getWeightCount();
+        double getWeight(int index);
+        
+        // repeated double offset = 2 [packed = true];
+        java.util.List<java.lang.Double> getOffsetList();
+        int getOffsetCount();
+        double getOffset(int index);
       }
-      
-      public com.toao.quicklearner.persistence.LearnerModel.Model buildPartial() {
-        com.toao.quicklearner.persistence.LearnerModel.Model result = new com.toao.quicklearner.persistence.LearnerModel.Model(this);
-        int from_bitField0_ = bitField0_;
-        int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
-          to_bitField0_ |= 0x00000001;
+      public static final class LabelWeights extends
+          com.google.protobuf.GeneratedMessage
+          implements LabelWeightsOrBuilder {
+        // Use LabelWeights.newBuilder() to construct.
+        private LabelWeights(Builder builder) {
+          super(builder);
         }
-        result.learnerType_ = learnerType_;
-        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
-          to_bitField0_ |= 0x00000002;
+        private LabelWeights(boolean noInit) {}
+        
+        private static final LabelWeights defaultInstance;
+        public static LabelWeights getDefaultInstance() {
+          return defaultInstance;
         }
-        if (logisticBuilder_ == null) {
-          result.logistic_ = logistic_;
-        } else {
-          result.logistic_ = logisticBuilder_.build();
+        
+        public LabelWeights getDefaultInstanceForType() {
+          return defaultInstance;
+        }
+        
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_descriptor;
+        }
+        
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_fieldAccessorTable;
+        }
+        
+        // repeated double weight = 1 [packed = true];
+        public static final int WEIGHT_FIELD_NUMBER = 1;
+        private java.util.List<java.lang.Double> weight_;
+        public java.util.List<java.lang.Double>
+            getWeightList() {
+          return weight_;
+        }
+        public int getWeightCount() {
+          return weight_.size();
+        }
+        public double getWeight(int index) {
+          return weight_.get(index);
+        }
+        private int weightMemoizedSerializedSize = -1;
+        
+        // repeated double offset = 2 [packed = true];
+        public static final int OFFSET_FIELD_NUMBER = 2;
+        private java.util.List<java.lang.Double> offset_;
+        public java.util.List<java.lang.Double>
+            getOffsetList() {
+          return offset_;
+        }
+        public int getOffsetCount() {
+          return offset_.size();
+        }
+        public double getOffset(int index) {
+          return offset_.get(index);
+        }
+        private int offsetMemoizedSerializedSize = -1;
+        
+        private void initFields() {
+          weight_ = java.util.Collections.emptyList();;
+          offset_ = java.util.Collections.emptyList();;
+        }
+        private byte memoizedIsInitialized = -1;
+        public final boolean isInitialized() {
+          byte isInitialized = memoizedIsInitialized;
+          if (isInitialized != -1) return isInitialized == 1;
+          
+          memoizedIsInitialized = 1;
+          return true;
+        }
+        
+        public void writeTo(com.google.protobuf.CodedOutputStream output)
+                            throws java.io.IOException {
+          getSerializedSize();
+          if (getWeightList().size() > 0) {
+            output.writeRawVarint32(10);
+            output.writeRawVarint32(weightMemoizedSerializedSize);
+          }
+          for (int i = 0; i < weight_.size(); i++) {
+            output.writeDoubleNoTag(weight_.get(i));
+          }
+          if (getOffsetList().size() > 0) {
+            output.writeRawVarint32(18);
+            output.writeRawVarint32(offsetMemoizedSerializedSize);
+          }
+          for (int i = 0; i < offset_.size(); i++) {
+            output.writeDoubleNoTag(offset_.get(i));
+          }
+          getUnknownFields().writeTo(output);
+        }
+        
+        private int memoizedSerializedSize = -1;
+        public int getSerializedSize() {
+          int size = memoizedSerializedSize;
+          if (size != -1) return size;
+        
+          size = 0;
+          {
+            int dataSize = 0;
+            dataSize = 8 * getWeightList().size();
+            size += dataSize;
+            if (!getWeightList().isEmpty()) {
+              size += 1;
+              size += com.google.protobuf.CodedOutputStream
+                  .computeInt32SizeNoTag(dataSize);
+            }
+            weightMemoizedSerializedSize = dataSize;
+          }
+          {
+            int dataSize = 0;
+            dataSize = 8 * getOffsetList().size();
+            size += dataSize;
+            if (!getOffsetList().isEmpty()) {
+              size += 1;
+              size += com.google.protobuf.CodedOutputStream
+                  .computeInt32SizeNoTag(dataSize);
+            }
+            offsetMemoizedSerializedSize = dataSize;
+          }
+          size += getUnknownFields().getSerializedSize();
+          memoizedSerializedSize = size;
+          return size;
+        }
+        
+        private static final long serialVersionUID = 0L;
+        @java.lang.Override
+        protected java.lang.Object writeReplace()
+            throws java.io.ObjectStreamException {
+          return super.writeReplace();
+        }
+        
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(
+            com.google.protobuf.ByteString data)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(
+            com.google.protobuf.ByteString data,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data, extensionRegistry)
+                   .buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(byte[] data)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(
+            byte[] data,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data, extensionRegistry)
+                   .buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(java.io.InputStream input)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(
+            java.io.InputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input, extensionRegistry)
+                   .buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseDelimitedFrom(java.io.InputStream input)
+            throws java.io.IOException {
+          Builder builder = newBuilder();
+          if (builder.mergeDelimitedFrom(input)) {
+            return builder.buildParsed();
+          } else {
+            return null;
+          }
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseDelimitedFrom(
+            java.io.InputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          Builder builder = newBuilder();
+          if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+            return builder.buildParsed();
+          } else {
+            return null;
+          }
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(
+            com.google.protobuf.CodedInputStream input)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights parseFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input, extensionRegistry)
+                   .buildParsed();
+        }
+        
+        public static Builder newBuilder() { return Builder.create(); }
+        public Builder newBuilderForType() { return newBuilder(); }
+        public static Builder newBuilder(com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights prototype) {
+          return newBuilder().mergeFrom(prototype);
+        }
+        public Builder toBuilder() { return newBuilder(this); }
+        
+        @java.lang.Override
+        protected Builder newBuilderForType(
+            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          Builder builder = new Builder(parent);
+          return builder;
+        }
+        public static final class Builder extends
+            com.google.protobuf.GeneratedMessage.Builder<Builder>
+           implements com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder {
+          public static final com.google.protobuf.Descriptors.Descriptor
+              getDescriptor() {
+            return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_descriptor;
+          }
+          
+          protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+              internalGetFieldAccessorTable() {
+            return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_fieldAccessorTable;
+          }
+          
+          // Construct using com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.newBuilder()
+          private Builder() {
+            maybeForceBuilderInitialization();
+          }
+          
+          private Builder(BuilderParent parent) {
+            super(parent);
+            maybeForceBuilderInitialization();
+          }
+          private void maybeForceBuilderInitialization() {
+            if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+            }
+          }
+          private static Builder create() {
+            return new Builder();
+          }
+          
+          public Builder clear() {
+            super.clear();
+            weight_ = java.util.Collections.emptyList();;
+            bitField0_ = (bitField0_ & ~0x00000001);
+            offset_ = java.util.Collections.emptyList();;
+            bitField0_ = (bitField0_ & ~0x00000002);
+            return this;
+          }
+          
+          public Builder clone() {
+            return create().mergeFrom(buildPartial());
+          }
+          
+          public com.google.protobuf.Descriptors.Descriptor
+              getDescriptorForType() {
+            return com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.getDescriptor();
+          }
+          
+          public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights getDefaultInstanceForType() {
+            return com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.getDefaultInstance();
+          }
+          
+          public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights build() {
+            com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights result = buildPartial();
+            if (!result.isInitialized()) {
+              throw newUninitializedMessageException(result);
+            }
+            return result;
+          }
+          
+          private com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights buildParsed()
+              throws com.google.protobuf.InvalidProtocolBufferException {
+            com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights result = buildPartial();
+            if (!result.isInitialized()) {
+              throw newUninitializedMessageException(
+                result).asInvalidProtocolBufferException();
+            }
+            return result;
+          }
+          
+          public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights buildPartial() {
+            com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights result = new com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights(this);
+            int from_bitField0_ = bitField0_;
+            if (((bitField0_ & 0x00000001) == 0x00000001)) {
+              weight_ = java.util.Collections.unmodifiableList(weight_);
+              bitField0_ = (bitField0_ & ~0x00000001);
+            }
+            result.weight_ = weight_;
+            if (((bitField0_ & 0x00000002) == 0x00000002)) {
+              offset_ = java.util.Collections.unmodifiableList(offset_);
+              bitField0_ = (bitField0_ & ~0x00000002);
+            }
+            result.offset_ = offset_;
+            onBuilt();
+            return result;
+          }
+          
+          public Builder mergeFrom(com.google.protobuf.Message other) {
+            if (other instanceof com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights) {
+              return mergeFrom((com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights)other);
+            } else {
+              super.mergeFrom(other);
+              return this;
+            }
+          }
+          
+          public Builder mergeFrom(com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights other) {
+            if (other == com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.getDefaultInstance()) return this;
+            if (!other.weight_.isEmpty()) {
+              if (weight_.isEmpty()) {
+                weight_ = other.weight_;
+                bitField0_ = (bitField0_ & ~0x00000001);
+              } else {
+                ensureWeightIsMutable();
+                weight_.addAll(other.weight_);
+              }
+              onChanged();
+            }
+            if (!other.offset_.isEmpty()) {
+              if (offset_.isEmpty()) {
+                offset_ = other.offset_;
+                bitField0_ = (bitField0_ & ~0x00000002);
+              } else {
+                ensureOffsetIsMutable();
+                offset_.addAll(other.offset_);
+              }
+              onChanged();
+            }
+            this.mergeUnknownFields(other.getUnknownFields());
+            return this;
+          }
+          
+          public final boolean isInitialized() {
+            return true;
+          }
+          
+          public Builder mergeFrom(
+              com.google.protobuf.CodedInputStream input,
+              com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+              throws java.io.IOException {
+            com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+              com.google.protobuf.UnknownFieldSet.newBuilder(
+                this.getUnknownFields());
+            while (true) {
+              int tag = input.readTag();
+              switch (tag) {
+                case 0:
+                  this.setUnknownFields(unknownFields.build());
+                  onChanged();
+                  return this;
+                default: {
+                  if (!parseUnknownField(input, unknownFields,
+                                         extensionRegistry, tag)) {
+                    this.setUnknownFields(unknownFields.build());
+                    onChanged();
+                    return this;
+                  }
+                  break;
+                }
+                case 9: {
+                  ensureWeightIsMutable();
+                  weight_.add(input.readDouble());
+                  break;
+                }
+                case 10: {
+                  int length = input.readRawVarint32();
+                  int limit = input.pushLimit(length);
+                  while (input.getBytesUntilLimit() > 0) {
+                    addWeight(input.readDouble());
+                  }
+                  input.popLimit(limit);
+                  break;
+                }
+                case 17: {
+                  ensureOffsetIsMutable();
+                  offset_.add(input.readDouble());
+                  break;
+                }
+                case 18: {
+                  int length = input.readRawVarint32();
+                  int limit = input.pushLimit(length);
+                  while (input.getBytesUntilLimit() > 0) {
+                    addOffset(input.readDouble());
+                  }
+                  input.popLimit(limit);
+                  break;
+                }
+              }
+            }
+          }
+          
+          private int bitField0_;
+          
+          // repeated double weight = 1 [packed = true];
+          private java.util.List<java.lang.Double> weight_ = java.util.Collections.emptyList();;
+          private void ensureWeightIsMutable() {
+            if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+              weight_ = new java.util.ArrayList<java.lang.Double>(weight_);
+              bitField0_ |= 0x00000001;
+             }
+          }
+          public java.util.List<java.lang.Double>
+              getWeightList() {
+            return java.util.Collections.unmodifiableList(weight_);
+          }
+          public int getWeightCount() {
+            return weight_.size();
+          }
+          public double getWeight(int index) {
+            return weight_.get(index);
+          }
+          public Builder setWeight(
+              int index, double value) {
+            ensureWeightIsMutable();
+            weight_.set(index, value);
+            onChanged();
+            return this;
+          }
+          public Builder addWeight(double value) {
+            ensureWeightIsMutable();
+            weight_.add(value);
+            onChanged();
+            return this;
+          }
+          public Builder addAllWeight(
+              java.lang.Iterable<? extends java.lang.Double> values) {
+            ensureWeightIsMutable();
+            super.addAll(values, weight_);
+            onChanged();
+            return this;
+          }
+          public Builder clearWeight() {
+            weight_ = java.util.Collections.emptyList();;
+            bitField0_ = (bitField0_ & ~0x00000001);
+            onChanged();
+            return this;
+          }
+          
+          // repeated double offset = 2 [packed = true];
+          private java.util.List<java.lang.Double> offset_ = java.util.Collections.emptyList();;
+          private void ensureOffsetIsMutable() {
+            if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+              offset_ = new java.util.ArrayList<java.lang.Double>(offset_);
+              bitField0_ |= 0x00000002;
+             }
+          }
+          public java.util.List<java.lang.Double>
+              getOffsetList() {
+            return java.util.Collections.unmodifiableList(offset_);
+          }
+          public int getOffsetCount() {
+            return offset_.size();
+          }
+          public double getOffset(int index) {
+            return offset_.get(index);
+          }
+          public Builder setOffset(
+              int index, double value) {
+            ensureOffsetIsMutable();
+            offset_.set(index, value);
+            onChanged();
+            return this;
+          }
+          public Builder addOffset(double value) {
+            ensureOffsetIsMutable();
+            offset_.add(value);
+            onChanged();
+            return this;
+          }
+          public Builder addAllOffset(
+              java.lang.Iterable<? extends java.lang.Double> values) {
+            ensureOffsetIsMutable();
+            super.addAll(values, offset_);
+            onChanged();
+            return this;
+          }
+          public Builder clearOffset() {
+            offset_ = java.util.Collections.emptyList();;
+            bitField0_ = (bitField0_ & ~0x00000002);
+            onChanged();
+            return this;
+          }
+          
+          // @@protoc_insertion_point(builder_scope:com.toao.quicklearner.persistence.Model.CompactLogistic.LabelWeights)
+        }
+        
+        static {
+          defaultInstance = new LabelWeights(true);
+          defaultInstance.initFields();
+        }
+        
+        // @@protoc_insertion_point(class_scope:com.toao.quicklearner.persistence.Model.CompactLogistic.LabelWeights)
+      }
+      
+      private int bitField0_;
+      // repeated string labels = 1;
+      public static final int LABELS_FIELD_NUMBER = 1;
+      private com.google.protobuf.LazyStringList labels_;
+      public java.util.List<String>
+          getLabelsList() {
+        return labels_;
+      }
+      public int getLabelsCount() {
+        return labels_.size();
+      }
+      public String getLabels(int index) {
+        return labels_.get(index);
+      }
+      
+      // optional double accuracy = 2;
+      public static final int ACCURACY_FIELD_NUMBER = 2;
+      private double accuracy_;
+      public boolean hasAccuracy() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public double getAccuracy() {
+        return accuracy_;
+      }
+      
+      // repeated string feature = 3;
+      public static final int FEATURE_FIELD_NUMBER = 3;
+      private com.google.protobuf.LazyStringList feature_;
+      public java.util.List<String>
+          getFeatureList() {
+        return feature_;
+      }
+      public int getFeatureCount() {
+        return feature_.size();
+      }
+      public String getFeature(int index) {
+        return feature_.get(index);
+      }
+      
+      // repeated double bias = 4 [packed = true];
+      public static final int BIAS_FIELD_NUMBER = 4;
+      private java.util.List<java.lang.Double> bias_;
+      public java.util.List<java.lang.Double>
+          getBiasList() {
+        return bias_;
+      }
+      public int getBiasCount() {
+        return bias_.size();
+      }
+      public double getBias(int index) {
+        return bias_.get(index);
+      }
+      private int biasMemoizedSerializedSize = -1;
+      
+      // repeated .com.toao.quicklearner.persistence.Model.CompactLogistic.LabelWeights weights = 5;
+      public static final int WEIGHTS_FIELD_NUMBER = 5;
+      private java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights> weights_;
+      public java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights> getWeightsList() {
+        return weights_;
+      }
+      public java.util.List<? extends com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder> 
+          getWeightsOrBuilderList() {
+        return weights_;
+      }
+      public int getWeightsCount() {
+        return weights_.size();
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights getWeights(int index) {
+        return weights_.get(index);
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder getWeightsOrBuilder(
+          int index) {
+        return weights_.get(index);
+      }
+      
+      private void initFields() {
+        labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        accuracy_ = 0D;
+        feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bias_ = java.util.Collections.emptyList();;
+        weights_ = java.util.Collections.emptyList();
+      }
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized != -1) return isInitialized == 1;
+        
+        memoizedIsInitialized = 1;
+        return true;
+      }
+      
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        getSerializedSize();
+        for (int i = 0; i < labels_.size(); i++) {
+          output.writeBytes(1, labels_.getByteString(i));
+        }
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          output.writeDouble(2, accuracy_);
+        }
+        for (int i = 0; i < feature_.size(); i++) {
+          output.writeBytes(3, feature_.getByteString(i));
+        }
+        if (getBiasList().size() > 0) {
+          output.writeRawVarint32(34);
+          output.writeRawVarint32(biasMemoizedSerializedSize);
+        }
+        for (int i = 0; i < bias_.size(); i++) {
+          output.writeDoubleNoTag(bias_.get(i));
+        }
+        for (int i = 0; i < weights_.size(); i++) {
+          output.writeMessage(5, weights_.get(i));
+        }
+        getUnknownFields().writeTo(output);
+      }
+      
+      private int memoizedSerializedSize = -1;
+      public int getSerializedSize() {
+        int size = memoizedSerializedSize;
+        if (size != -1) return size;
+      
+        size = 0;
+        {
+          int dataSize = 0;
+          for (int i = 0; i < labels_.size(); i++) {
+            dataSize += com.google.protobuf.CodedOutputStream
+              .computeBytesSizeNoTag(labels_.getByteString(i));
+          }
+          size += dataSize;
+          size += 1 * getLabelsList().size();
+        }
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeDoubleSize(2, accuracy_);
+        }
+        {
+          int dataSize = 0;
+          for (int i = 0; i < feature_.size(); i++) {
+            dataSize += com.google.protobuf.CodedOutputStream
+              .computeBytesSizeNoTag(feature_.getByteString(i));
+          }
+          size += dataSize;
+          size += 1 * getFeatureList().size();
+        }
+        {
+          int dataSize = 0;
+          dataSize = 8 * getBiasList().size();
+          size += dataSize;
+          if (!getBiasList().isEmpty()) {
+            size += 1;
+            size += com.google.protobuf.CodedOutputStream
+                .computeInt32SizeNoTag(dataSize);
+          }
+          biasMemoizedSerializedSize = dataSize;
+        }
+        for (int i = 0; i < weights_.size(); i++) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(5, weights_.get(i));
+        }
+        size += getUnknownFields().getSerializedSize();
+        memoizedSerializedSize = size;
+        return size;
+      }
+      
+      private static final long serialVersionUID = 0L;
+      @java.lang.Override
+      protected java.lang.Object writeReplace()
+          throws java.io.ObjectStreamException {
+        return super.writeReplace();
+      }
+      
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data, extensionRegistry)
+                 .buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data, extensionRegistry)
+                 .buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input, extensionRegistry)
+                 .buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        Builder builder = newBuilder();
+        if (builder.mergeDelimitedFrom(input)) {
+          return builder.buildParsed();
+        } else {
+          return null;
+        }
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        Builder builder = newBuilder();
+        if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+          return builder.buildParsed();
+        } else {
+          return null;
+        }
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input, extensionRegistry)
+                 .buildParsed();
+      }
+      
+      public static Builder newBuilder() { return Builder.create(); }
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder(com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic prototype) {
+        return newBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() { return newBuilder(this); }
+      
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessage.Builder<Builder>
+         implements com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogisticOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_descriptor;
+        }
+        
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_fieldAccessorTable;
+        }
+        
+        // Construct using com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+        
+        private Builder(BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+            getWeightsFieldBuilder();
+          }
+        }
+        private static Builder create() {
+          return new Builder();
+        }
+        
+        public Builder clear() {
+          super.clear();
+          labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000001);
+          accuracy_ = 0D;
+          bitField0_ = (bitField0_ & ~0x00000002);
+          feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000004);
+          bias_ = java.util.Collections.emptyList();;
+          bitField0_ = (bitField0_ & ~0x00000008);
+          if (weightsBuilder_ == null) {
+            weights_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            weightsBuilder_.clear();
+          }
+          return this;
+        }
+        
+        public Builder clone() {
+          return create().mergeFrom(buildPartial());
+        }
+        
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDescriptor();
+        }
+        
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic getDefaultInstanceForType() {
+          return com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDefaultInstance();
+        }
+        
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic build() {
+          com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+        
+        private com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic buildParsed()
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(
+              result).asInvalidProtocolBufferException();
+          }
+          return result;
+        }
+        
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic buildPartial() {
+          com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic result = new com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            labels_ = new com.google.protobuf.UnmodifiableLazyStringList(
+                labels_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.labels_ = labels_;
+          if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+            to_bitField0_ |= 0x00000001;
+          }
+          result.accuracy_ = accuracy_;
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            feature_ = new com.google.protobuf.UnmodifiableLazyStringList(
+                feature_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.feature_ = feature_;
+          if (((bitField0_ & 0x00000008) == 0x00000008)) {
+            bias_ = java.util.Collections.unmodifiableList(bias_);
+            bitField0_ = (bitField0_ & ~0x00000008);
+          }
+          result.bias_ = bias_;
+          if (weightsBuilder_ == null) {
+            if (((bitField0_ & 0x00000010) == 0x00000010)) {
+              weights_ = java.util.Collections.unmodifiableList(weights_);
+              bitField0_ = (bitField0_ & ~0x00000010);
+            }
+            result.weights_ = weights_;
+          } else {
+            result.weights_ = weightsBuilder_.build();
+          }
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+        
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic) {
+            return mergeFrom((com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+        
+        public Builder mergeFrom(com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic other) {
+          if (other == com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDefaultInstance()) return this;
+          if (!other.labels_.isEmpty()) {
+            if (labels_.isEmpty()) {
+              labels_ = other.labels_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureLabelsIsMutable();
+              labels_.addAll(other.labels_);
+            }
+            onChanged();
+          }
+          if (other.hasAccuracy()) {
+            setAccuracy(other.getAccuracy());
+          }
+          if (!other.feature_.isEmpty()) {
+            if (feature_.isEmpty()) {
+              feature_ = other.feature_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureFeatureIsMutable();
+              feature_.addAll(other.feature_);
+            }
+            onChanged();
+          }
+          if (!other.bias_.isEmpty()) {
+            if (bias_.isEmpty()) {
+              bias_ = other.bias_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+            } else {
+              ensureBiasIsMutable();
+              bias_.addAll(other.bias_);
+            }
+            onChanged();
+          }
+          if (weightsBuilder_ == null) {
+            if (!other.weights_.isEmpty()) {
+              if (weights_.isEmpty()) {
+                weights_ = other.weights_;
+                bitField0_ = (bitField0_ & ~0x00000010);
+              } else {
+                ensureWeightsIsMutable();
+                weights_.addAll(other.weights_);
+              }
+              onChanged();
+            }
+          } else {
+            if (!other.weights_.isEmpty()) {
+              if (weightsBuilder_.isEmpty()) {
+                weightsBuilder_.dispose();
+                weightsBuilder_ = null;
+                weights_ = other.weights_;
+                bitField0_ = (bitField0_ & ~0x00000010);
+                weightsBuilder_ = 
+                  com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                     getWeightsFieldBuilder() : null;
+              } else {
+                weightsBuilder_.addAllMessages(other.weights_);
+              }
+            }
+          }
+          this.mergeUnknownFields(other.getUnknownFields());
+          return this;
+        }
+        
+        public final boolean isInitialized() {
+          return true;
+        }
+        
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder(
+              this.getUnknownFields());
+          while (true) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              default: {
+                if (!parseUnknownField(input, unknownFields,
+                                       extensionRegistry, tag)) {
+                  this.setUnknownFields(unknownFields.build());
+                  onChanged();
+                  return this;
+                }
+                break;
+              }
+              case 10: {
+                ensureLabelsIsMutable();
+                labels_.add(input.readBytes());
+                break;
+              }
+              case 17: {
+                bitField0_ |= 0x00000002;
+                accuracy_ = input.readDouble();
+                break;
+              }
+              case 26: {
+                ensureFeatureIsMutable();
+                feature_.add(input.readBytes());
+                break;
+              }
+              case 33: {
+                ensureBiasIsMutable();
+                bias_.add(input.readDouble());
+                break;
+              }
+              case 34: {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                while (input.getBytesUntilLimit() > 0) {
+                  addBias(input.readDouble());
+                }
+                input.popLimit(limit);
+                break;
+              }
+              case 42: {
+                com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder subBuilder = com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.newBuilder();
+                input.readMessage(subBuilder, extensionRegistry);
+                addWeights(subBuilder.buildPartial());
+                break;
+              }
+            }
+          }
+        }
+        
+        private int bitField0_;
+        
+        // repeated string labels = 1;
+        private com.google.protobuf.LazyStringList labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        private void ensureLabelsIsMutable() {
+          if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+            labels_ = new com.google.protobuf.LazyStringArrayList(labels_);
+            bitField0_ |= 0x00000001;
+           }
+        }
+        public java.util.List<String>
+            getLabelsList() {
+          return java.util.Collections.unmodifiableList(labels_);
+        }
+        public int getLabelsCount() {
+          return labels_.size();
+        }
+        public String getLabels(int index) {
+          return labels_.get(index);
+        }
+        public Builder setLabels(
+            int index, String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureLabelsIsMutable();
+          labels_.set(index, value);
+          onChanged();
+          return this;
+        }
+        public Builder addLabels(String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureLabelsIsMutable();
+          labels_.add(value);
+          onChanged();
+          return this;
+        }
+        public Builder addAllLabels(
+            java.lang.Iterable<String> values) {
+          ensureLabelsIsMutable();
+          super.addAll(values, labels_);
+          onChanged();
+          return this;
+        }
+        public Builder clearLabels() {
+          labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+          return this;
+        }
+        void addLabels(com.google.protobuf.ByteString value) {
+          ensureLabelsIsMutable();
+          labels_.add(value);
+          onChanged();
+        }
+        
+        // optional double accuracy = 2;
+        private double accuracy_ ;
+        public boolean hasAccuracy() {
+          return ((bitField0_ & 0x00000002) == 0x00000002);
+        }
+        public double getAccuracy() {
+          return accuracy_;
+        }
+        public Builder setAccuracy(double value) {
+          bitField0_ |= 0x00000002;
+          accuracy_ = value;
+          onChanged();
+          return this;
+        }
+        public Builder clearAccuracy() {
+          bitField0_ = (bitField0_ & ~0x00000002);
+          accuracy_ = 0D;
+          onChanged();
+          return this;
+        }
+        
+        // repeated string feature = 3;
+        private com.google.protobuf.LazyStringList feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        private void ensureFeatureIsMutable() {
+          if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+            feature_ = new com.google.protobuf.LazyStringArrayList(feature_);
+            bitField0_ |= 0x00000004;
+           }
+        }
+        public java.util.List<String>
+            getFeatureList() {
+          return java.util.Collections.unmodifiableList(feature_);
+        }
+        public int getFeatureCount() {
+          return feature_.size();
+        }
+        public String getFeature(int index) {
+          return feature_.get(index);
+        }
+        public Builder setFeature(
+            int index, String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureFeatureIsMutable();
+          feature_.set(index, value);
+          onChanged();
+          return this;
+        }
+        public Builder addFeature(String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureFeatureIsMutable();
+          feature_.add(value);
+          onChanged();
+          return this;
+        }
+        public Builder addAllFeature(
+            java.lang.Iterable<String> values) {
+          ensureFeatureIsMutable();
+          super.addAll(values, feature_);
+          onChanged();
+          return this;
+        }
+        public Builder clearFeature() {
+          feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+          return this;
+        }
+        void addFeature(com.google.protobuf.ByteString value) {
+          ensureFeatureIsMutable();
+          feature_.add(value);
+          onChanged();
+        }
+        
+        // repeated double bias = 4 [packed = true];
+        private java.util.List<java.lang.Double> bias_ = java.util.Collections.emptyList();;
+        private void ensureBiasIsMutable() {
+          if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+            bias_ = new java.util.ArrayList<java.lang.Double>(bias_);
+            bitField0_ |= 0x00000008;
+           }
+        }
+        public java.util.List<java.lang.Double>
+            getBiasList() {
+          return java.util.Collections.unmodifiableList(bias_);
+        }
+        public int getBiasCount() {
+          return bias_.size();
+        }
+        public double getBias(int index) {
+          return bias_.get(index);
+        }
+        public Builder setBias(
+            int index, double value) {
+          ensureBiasIsMutable();
+          bias_.set(index, value);
+          onChanged();
+          return this;
+        }
+        public Builder addBias(double value) {
+          ensureBiasIsMutable();
+          bias_.add(value);
+          onChanged();
+          return this;
+        }
+        public Builder addAllBias(
+            java.lang.Iterable<? extends java.lang.Double> values) {
+          ensureBiasIsMutable();
+          super.addAll(values, bias_);
+          onChanged();
+          return this;
+        }
+        public Builder clearBias() {
+          bias_ = java.util.Collections.emptyList();;
+          bitField0_ = (bitField0_ & ~0x00000008);
+          onChanged();
+          return this;
+        }
+        
+        // repeated .com.toao.quicklearner.persistence.Model.CompactLogistic.LabelWeights weights = 5;
+        private java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights> weights_ =
+          java.util.Collections.emptyList();
+        private void ensureWeightsIsMutable() {
+          if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+            weights_ = new java.util.ArrayList<com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights>(weights_);
+            bitField0_ |= 0x00000010;
+           }
+        }
+        
+        private com.google.protobuf.RepeatedFieldBuilder<
+            com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder> weightsBuilder_;
+        
+        public java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights> getWeightsList() {
+          if (weightsBuilder_ == null) {
+            return java.util.Collections.unmodifiableList(weights_);
+          } else {
+            return weightsBuilder_.getMessageList();
+          }
+        }
+        public int getWeightsCount() {
+          if (weightsBuilder_ == null) {
+            return weights_.size();
+          } else {
+            return weightsBuilder_.getCount();
+          }
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights getWeights(int index) {
+          if (weightsBuilder_ == null) {
+            return weights_.get(index);
+          } else {
+            return weightsBuilder_.getMessage(index);
+          }
+        }
+        public Builder setWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights value) {
+          if (weightsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureWeightsIsMutable();
+            weights_.set(index, value);
+            onChanged();
+          } else {
+            weightsBuilder_.setMessage(index, value);
+          }
+          return this;
+        }
+        public Builder setWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder builderForValue) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.set(index, builderForValue.build());
+            onChanged();
+          } else {
+            weightsBuilder_.setMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        public Builder addWeights(com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights value) {
+          if (weightsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureWeightsIsMutable();
+            weights_.add(value);
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(value);
+          }
+          return this;
+        }
+        public Builder addWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights value) {
+          if (weightsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureWeightsIsMutable();
+            weights_.add(index, value);
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(index, value);
+          }
+          return this;
+        }
+        public Builder addWeights(
+            com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder builderForValue) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.add(builderForValue.build());
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(builderForValue.build());
+          }
+          return this;
+        }
+        public Builder addWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder builderForValue) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.add(index, builderForValue.build());
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        public Builder addAllWeights(
+            java.lang.Iterable<? extends com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights> values) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            super.addAll(values, weights_);
+            onChanged();
+          } else {
+            weightsBuilder_.addAllMessages(values);
+          }
+          return this;
+        }
+        public Builder clearWeights() {
+          if (weightsBuilder_ == null) {
+            weights_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000010);
+            onChanged();
+          } else {
+            weightsBuilder_.clear();
+          }
+          return this;
+        }
+        public Builder removeWeights(int index) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.remove(index);
+            onChanged();
+          } else {
+            weightsBuilder_.remove(index);
+          }
+          return this;
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder getWeightsBuilder(
+            int index) {
+          return getWeightsFieldBuilder().getBuilder(index);
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder getWeightsOrBuilder(
+            int index) {
+          if (weightsBuilder_ == null) {
+            return weights_.get(index);  } else {
+            return weightsBuilder_.getMessageOrBuilder(index);
+          }
+        }
+        public java.util.List<? extends com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder> 
+             getWeightsOrBuilderList() {
+          if (weightsBuilder_ != null) {
+            return weightsBuilder_.getMessageOrBuilderList();
+          } else {
+            return java.util.Collections.unmodifiableList(weights_);
+          }
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder addWeightsBuilder() {
+          return getWeightsFieldBuilder().addBuilder(
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.getDefaultInstance());
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder addWeightsBuilder(
+            int index) {
+          return getWeightsFieldBuilder().addBuilder(
+              index, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.getDefaultInstance());
+        }
+        public java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder> 
+             getWeightsBuilderList() {
+          return getWeightsFieldBuilder().getBuilderList();
+        }
+        private com.google.protobuf.RepeatedFieldBuilder<
+            com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder> 
+            getWeightsFieldBuilder() {
+          if (weightsBuilder_ == null) {
+            weightsBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+                com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeightsOrBuilder>(
+                    weights_,
+                    ((bitField0_ & 0x00000010) == 0x00000010),
+                    getParentForChildren(),
+                    isClean());
+            weights_ = null;
+          }
+          return weightsBuilder_;
+        }
+        
+        // @@protoc_insertion_point(builder_scope:com.toao.quicklearner.persistence.Model.CompactLogistic)
+      }
+      
+      static {
+        defaultInstance = new CompactLogistic(true);
+        defaultInstance.initFields();
+      }
+      
+      // @@protoc_insertion_point(class_scope:com.toao.quicklearner.persistence.Model.CompactLogistic)
+    }
+    
+    public interface QuantizedLogisticOrBuilder
+        extends com.google.protobuf.MessageOrBuilder {
+      
+      // repeated string labels = 1;
+      java.util.List<String> getLabelsList();
+      int getLabelsCount();
+      String getLabels(int index);
+      
+      // optional double accuracy = 2;
+      boolean hasAccuracy();
+      double getAccuracy();
+      
+      // optional .com.toao.quicklearner.persistence.Model.QuantizedLogistic.Precision precision = 3;
+      boolean hasPrecision();
+      com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision getPrecision();
+      
+      // repeated string feature = 4;
+      java.util.List<String> getFeatureList();
+      int getFeatureCount();
+      String getFeature(int index);
+      
+      // repeated double bias = 5 [packed = true];
+      java.util.List<java.lang.Double> getBiasList();
+      int getBiasCount();
+      double getBias(int index);
+      
+      // repeated .com.toao.quicklearner.persistence.Model.QuantizedLogistic.LabelWeights weights = 6;
+      java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights> 
+          getWeightsList();
+      com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights getWeights(int index);
+      int getWeightsCount();
+      java.util.List<? extends com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder> 
+          getWeightsOrBuilderList();
+      com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder getWeightsOrBuilder(
+          int index);
+    }
+    public static final class QuantizedLogistic extends
+        com.google.protobuf.GeneratedMessage
+        implements QuantizedLogisticOrBuilder {
+      // Use QuantizedLogistic.newBuilder() to construct.
+      private QuantizedLogistic(Builder builder) {
+        super(builder);
+      }
+      private QuantizedLogistic(boolean noInit) {}
+      
+      private static final QuantizedLogistic defaultInstance;
+      public static QuantizedLogistic getDefaultInstance() {
+        return defaultInstance;
+      }
+      
+      public QuantizedLogistic getDefaultInstanceForType() {
+        return defaultInstance;
+      }
+      
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_fieldAccessorTable;
+      }
+      
+      public enum Precision
+          implements com.google.protobuf.ProtocolMessageEnum {
+        FLOAT16(0, 0),
+        INT8(1, 1),
+        ;
+        
+        public static final int FLOAT16_VALUE = 0;
+        public static final int INT8_VALUE = 1;
+        
+        
+        public final int getNumber() { return value; }
+        
+        public static Precision valueOf(int value) {
+          switch (value) {
+            case 0: return FLOAT16;
+            case 1: return INT8;
+            default: return null;
+          }
+        }
+        
+        public static com.google.protobuf.Internal.EnumLiteMap<Precision>
+            internalGetValueMap() {
+          return internalValueMap;
+        }
+        private static com.google.protobuf.Internal.EnumLiteMap<Precision>
+            internalValueMap =
+              new com.google.protobuf.Internal.EnumLiteMap<Precision>() {
+                public Precision findValueByNumber(int number) {
+                  return Precision.valueOf(number);
+                }
+              };
+        
+        public final com.google.protobuf.Descriptors.EnumValueDescriptor
+            getValueDescriptor() {
+          return getDescriptor().getValues().get(index);
+        }
+        public final com.google.protobuf.Descriptors.EnumDescriptor
+            getDescriptorForType() {
+          return getDescriptor();
+        }
+        public static final com.google.protobuf.Descriptors.EnumDescriptor
+            getDescriptor() {
+          return com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDescriptor().getEnumTypes().get(0);
+        }
+        
+        private static final Precision[] VALUES = {
+          FLOAT16, INT8, 
+        };
+        
+        public static Precision valueOf(
+            com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+          if (desc.getType() != getDescriptor()) {
+            throw new java.lang.IllegalArgumentException(
+              "EnumValueDescriptor is not for this type.");
+          }
+          return VALUES[desc.getIndex()];
+        }
+        
+        private final int index;
+        private final int value;
+        
+        private Precision(int index, int value) {
+          this.index = index;
+          this.value = value;
+        }
+        
+        // @@protoc_insertion_point(enum_scope:com.toao.quicklearner.persistence.Model.QuantizedLogistic.Precision)
+      }
+      
+      public interface LabelWeightsOrBuilder
+          extends com.google.protobuf.MessageOrBuilder {
+        
+        // optional double weightScale = 1;
+        boolean hasWeightScale();
+        double getWeightScale();
+        
+        // optional double offsetScale = 2;
+        boolean hasOffsetScale();
+        double getOffsetScale();
+        
+        // optional bytes weight = 3;
+        boolean hasWeight();
+        com.google.protobuf.ByteString getWeight();
+        
+        // optional bytes offset = 4;
+        boolean hasOffset();
+        com.google.protobuf.ByteString getOffset();
+      }
+      public static final class LabelWeights extends
+          com.google.protobuf.GeneratedMessage
+          implements LabelWeightsOrBuilder {
+        // Use LabelWeights.newBuilder() to construct.
+        private LabelWeights(Builder builder) {
+          super(builder);
+        }
+        private LabelWeights(boolean noInit) {}
+        
+        private static final LabelWeights defaultInstance;
+        public static LabelWeights getDefaultInstance() {
+          return defaultInstance;
+        }
+        
+        public LabelWeights getDefaultInstanceForType() {
+          return defaultInstance;
+        }
+        
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_descriptor;
+        }
+        
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_fieldAccessorTable;
+        }
+        
+        private int bitField0_;
+        // optional double weightScale = 1;
+        public static final int WEIGHTSCALE_FIELD_NUMBER = 1;
+        private double weightScale_;
+        public boolean hasWeightScale() {
+          return ((bitField0_ & 0x00000001) == 0x00000001);
+        }
+        public double getWeightScale() {
+          return weightScale_;
+        }
+        
+        // optional double offsetScale = 2;
+        public static final int OFFSETSCALE_FIELD_NUMBER = 2;
+        private double offsetScale_;
+        public boolean hasOffsetScale() {
+          return ((bitField0_ & 0x00000002) == 0x00000002);
+        }
+        public double getOffsetScale() {
+          return offsetScale_;
+        }
+        
+        // optional bytes weight = 3;
+        public static final int WEIGHT_FIELD_NUMBER = 3;
+        private com.google.protobuf.ByteString weight_;
+        public boolean hasWeight() {
+          return ((bitField0_ & 0x00000004) == 0x00000004);
+        }
+        public com.google.protobuf.ByteString getWeight() {
+          return weight_;
+        }
+        
+        // optional bytes offset = 4;
+        public static final int OFFSET_FIELD_NUMBER = 4;
+        private com.google.protobuf.ByteString offset_;
+        public boolean hasOffset() {
+          return ((bitField0_ & 0x00000008) == 0x00000008);
+        }
+        public com.google.protobuf.ByteString getOffset() {
+          return offset_;
+        }
+        
+        private void initFields() {
+          weightScale_ = 0D;
+          offsetScale_ = 0D;
+          weight_ = com.google.protobuf.ByteString.EMPTY;
+          offset_ = com.google.protobuf.ByteString.EMPTY;
+        }
+        private byte memoizedIsInitialized = -1;
+        public final boolean isInitialized() {
+          byte isInitialized = memoizedIsInitialized;
+          if (isInitialized != -1) return isInitialized == 1;
+          
+          memoizedIsInitialized = 1;
+          return true;
+        }
+        
+        public void writeTo(com.google.protobuf.CodedOutputStream output)
+                            throws java.io.IOException {
+          getSerializedSize();
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            output.writeDouble(1, weightScale_);
+          }
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            output.writeDouble(2, offsetScale_);
+          }
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            output.writeBytes(3, weight_);
+          }
+          if (((bitField0_ & 0x00000008) == 0x00000008)) {
+            output.writeBytes(4, offset_);
+          }
+          getUnknownFields().writeTo(output);
+        }
+        
+        private int memoizedSerializedSize = -1;
+        public int getSerializedSize() {
+          int size = memoizedSerializedSize;
+          if (size != -1) return size;
+        
+          size = 0;
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            size += com.google.protobuf.CodedOutputStream
+              .computeDoubleSize(1, weightScale_);
+          }
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            size += com.google.protobuf.CodedOutputStream
+              .computeDoubleSize(2, offsetScale_);
+          }
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            size += com.google.protobuf.CodedOutputStream
+              .computeBytesSize(3, weight_);
+          }
+          if (((bitField0_ & 0x00000008) == 0x00000008)) {
+            size += com.google.protobuf.CodedOutputStream
+              .computeBytesSize(4, offset_);
+          }
+          size += getUnknownFields().getSerializedSize();
+          memoizedSerializedSize = size;
+          return size;
+        }
+        
+        private static final long serialVersionUID = 0L;
+        @java.lang.Override
+        protected java.lang.Object writeReplace()
+            throws java.io.ObjectStreamException {
+          return super.writeReplace();
+        }
+        
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(
+            com.google.protobuf.ByteString data)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(
+            com.google.protobuf.ByteString data,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data, extensionRegistry)
+                   .buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(byte[] data)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(
+            byte[] data,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return newBuilder().mergeFrom(data, extensionRegistry)
+                   .buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(java.io.InputStream input)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(
+            java.io.InputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input, extensionRegistry)
+                   .buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseDelimitedFrom(java.io.InputStream input)
+            throws java.io.IOException {
+          Builder builder = newBuilder();
+          if (builder.mergeDelimitedFrom(input)) {
+            return builder.buildParsed();
+          } else {
+            return null;
+          }
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseDelimitedFrom(
+            java.io.InputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          Builder builder = newBuilder();
+          if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+            return builder.buildParsed();
+          } else {
+            return null;
+          }
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(
+            com.google.protobuf.CodedInputStream input)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input).buildParsed();
+        }
+        public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights parseFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          return newBuilder().mergeFrom(input, extensionRegistry)
+                   .buildParsed();
+        }
+        
+        public static Builder newBuilder() { return Builder.create(); }
+        public Builder newBuilderForType() { return newBuilder(); }
+        public static Builder newBuilder(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights prototype) {
+          return newBuilder().mergeFrom(prototype);
+        }
+        public Builder toBuilder() { return newBuilder(this); }
+        
+        @java.lang.Override
+        protected Builder newBuilderForType(
+            com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+          Builder builder = new Builder(parent);
+          return builder;
+        }
+        public static final class Builder extends
+            com.google.protobuf.GeneratedMessage.Builder<Builder>
+           implements com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder {
+          public static final com.google.protobuf.Descriptors.Descriptor
+              getDescriptor() {
+            return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_descriptor;
+          }
+          
+          protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+              internalGetFieldAccessorTable() {
+            return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_fieldAccessorTable;
+          }
+          
+          // Construct using com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.newBuilder()
+          private Builder() {
+            maybeForceBuilderInitialization();
+          }
+          
+          private Builder(BuilderParent parent) {
+            super(parent);
+            maybeForceBuilderInitialization();
+          }
+          private void maybeForceBuilderInitialization() {
+            if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+            }
+          }
+          private static Builder create() {
+            return new Builder();
+          }
+          
+          public Builder clear() {
+            super.clear();
+            weightScale_ = 0D;
+            bitField0_ = (bitField0_ & ~0x00000001);
+            offsetScale_ = 0D;
+            bitField0_ = (bitField0_ & ~0x00000002);
+            weight_ = com.google.protobuf.ByteString.EMPTY;
+            bitField0_ = (bitField0_ & ~0x00000004);
+            offset_ = com.google.protobuf.ByteString.EMPTY;
+            bitField0_ = (bitField0_ & ~0x00000008);
+            return this;
+          }
+          
+          public Builder clone() {
+            return create().mergeFrom(buildPartial());
+          }
+          
+          public com.google.protobuf.Descriptors.Descriptor
+              getDescriptorForType() {
+            return com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.getDescriptor();
+          }
+          
+          public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights getDefaultInstanceForType() {
+            return com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.getDefaultInstance();
+          }
+          
+          public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights build() {
+            com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights result = buildPartial();
+            if (!result.isInitialized()) {
+              throw newUninitializedMessageException(result);
+            }
+            return result;
+          }
+          
+          private com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights buildParsed()
+              throws com.google.protobuf.InvalidProtocolBufferException {
+            com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights result = buildPartial();
+            if (!result.isInitialized()) {
+              throw newUninitializedMessageException(
+                result).asInvalidProtocolBufferException();
+            }
+            return result;
+          }
+          
+          public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights buildPartial() {
+            com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights result = new com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights(this);
+            int from_bitField0_ = bitField0_;
+            int to_bitField0_ = 0;
+            if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+              to_bitField0_ |= 0x00000001;
+            }
+            result.weightScale_ = weightScale_;
+            if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+              to_bitField0_ |= 0x00000002;
+            }
+            result.offsetScale_ = offsetScale_;
+            if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+              to_bitField0_ |= 0x00000004;
+            }
+            result.weight_ = weight_;
+            if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+              to_bitField0_ |= 0x00000008;
+            }
+            result.offset_ = offset_;
+            result.bitField0_ = to_bitField0_;
+            onBuilt();
+            return result;
+          }
+          
+          public Builder mergeFrom(com.google.protobuf.Message other) {
+            if (other instanceof com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights) {
+              return mergeFrom((com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights)other);
+            } else {
+              super.mergeFrom(other);
+              return this;
+            }
+          }
+          
+          public Builder mergeFrom(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights other) {
+            if (other == com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.getDefaultInstance()) return this;
+            if (other.hasWeightScale()) {
+              setWeightScale(other.getWeightScale());
+            }
+            if (other.hasOffsetScale()) {
+              setOffsetScale(other.getOffsetScale());
+            }
+            if (other.hasWeight()) {
+              setWeight(other.getWeight());
+            }
+            if (other.hasOffset()) {
+              setOffset(other.getOffset());
+            }
+            this.mergeUnknownFields(other.getUnknownFields());
+            return this;
+          }
+          
+          public final boolean isInitialized() {
+            return true;
+          }
+          
+          public Builder mergeFrom(
+              com.google.protobuf.CodedInputStream input,
+              com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+              throws java.io.IOException {
+            com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+              com.google.protobuf.UnknownFieldSet.newBuilder(
+                this.getUnknownFields());
+            while (true) {
+              int tag = input.readTag();
+              switch (tag) {
+                case 0:
+                  this.setUnknownFields(unknownFields.build());
+                  onChanged();
+                  return this;
+                default: {
+                  if (!parseUnknownField(input, unknownFields,
+                                         extensionRegistry, tag)) {
+                    this.setUnknownFields(unknownFields.build());
+                    onChanged();
+                    return this;
+                  }
+                  break;
+                }
+                case 9: {
+                  bitField0_ |= 0x00000001;
+                  weightScale_ = input.readDouble();
+                  break;
+                }
+                case 17: {
+                  bitField0_ |= 0x00000002;
+                  offsetScale_ = input.readDouble();
+                  break;
+                }
+                case 26: {
+                  bitField0_ |= 0x00000004;
+                  weight_ = input.readBytes();
+                  break;
+                }
+                case 34: {
+                  bitField0_ |= 0x00000008;
+                  offset_ = input.readBytes();
+                  break;
+                }
+              }
+            }
+          }
+          
+          private int bitField0_;
+          
+          // optional double weightScale = 1;
+          private double weightScale_ ;
+          public boolean hasWeightScale() {
+            return ((bitField0_ & 0x00000001) == 0x00000001);
+          }
+          public double getWeightScale() {
+            return weightScale_;
+          }
+          public Builder setWeightScale(double value) {
+            bitField0_ |= 0x00000001;
+            weightScale_ = value;
+            onChanged();
+            return this;
+          }
+          public Builder clearWeightScale() {
+            bitField0_ = (bitField0_ & ~0x00000001);
+            weightScale_ = 0D;
+            onChanged();
+            return this;
+          }
+          
+          // optional double offsetScale = 2;
+          private double offsetScale_ ;
+          public boolean hasOffsetScale() {
+            return ((bitField0_ & 0x00000002) == 0x00000002);
+          }
+          public double getOffsetScale() {
+            return offsetScale_;
+          }
+          public Builder setOffsetScale(double value) {
+            bitField0_ |= 0x00000002;
+            offsetScale_ = value;
+            onChanged();
+            return this;
+          }
+          public Builder clearOffsetScale() {
+            bitField0_ = (bitField0_ & ~0x00000002);
+            offsetScale_ = 0D;
+            onChanged();
+            return this;
+          }
+          
+          // optional bytes weight = 3;
+          private com.google.protobuf.ByteString weight_ = com.google.protobuf.ByteString.EMPTY;
+          public boolean hasWeight() {
+            return ((bitField0_ & 0x00000004) == 0x00000004);
+          }
+          public com.google.protobuf.ByteString getWeight() {
+            return weight_;
+          }
+          public Builder setWeight(com.google.protobuf.ByteString value) {
+            if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+            weight_ = value;
+            onChanged();
+            return this;
+          }
+          public Builder clearWeight() {
+            bitField0_ = (bitField0_ & ~0x00000004);
+            weight_ = getDefaultInstance().getWeight();
+            onChanged();
+            return this;
+          }
+          
+          // optional bytes offset = 4;
+          private com.google.protobuf.ByteString offset_ = com.google.protobuf.ByteString.EMPTY;
+          public boolean hasOffset() {
+            return ((bitField0_ & 0x00000008) == 0x00000008);
+          }
+          public com.google.protobuf.ByteString getOffset() {
+            return offset_;
+          }
+          public Builder setOffset(com.google.protobuf.ByteString value) {
+            if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+            offset_ = value;
+            onChanged();
+            return this;
+          }
+          public Builder clearOffset() {
+            bitField0_ = (bitField0_ & ~0x00000008);
+            offset_ = getDefaultInstance().getOffset();
+            onChanged();
+            return this;
+          }
+          
+          // @@protoc_insertion_point(builder_scope:com.toao.quicklearner.persistence.Model.QuantizedLogistic.LabelWeights)
+        }
+        
+        static {
+          defaultInstance = new LabelWeights(true);
+          defaultInstance.initFields();
+        }
+        
+        // @@protoc_insertion_point(class_scope:com.toao.quicklearner.persistence.Model.QuantizedLogistic.LabelWeights)
+      }
+      
+      private int bitField0_;
+      // repeated string labels = 1;
+      public static final int LABELS_FIELD_NUMBER = 1;
+      private com.google.protobuf.LazyStringList labels_;
+      public java.util.List<String>
+          getLabelsList() {
+        return labels_;
+      }
+      public int getLabelsCount() {
+        return labels_.size();
+      }
+      public String getLabels(int index) {
+        return labels_.get(index);
+      }
+      
+      // optional double accuracy = 2;
+      public static final int ACCURACY_FIELD_NUMBER = 2;
+      private double accuracy_;
+      public boolean hasAccuracy() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      public double getAccuracy() {
+        return accuracy_;
+      }
+      
+      // optional .com.toao.quicklearner.persistence.Model.QuantizedLogistic.Precision precision = 3;
+      public static final int PRECISION_FIELD_NUMBER = 3;
+      private com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision precision_;
+      public boolean hasPrecision() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision getPrecision() {
+        return precision_;
+      }
+      
+      // repeated string feature = 4;
+      public static final int FEATURE_FIELD_NUMBER = 4;
+      private com.google.protobuf.LazyStringList feature_;
+      public java.util.List<String>
+          getFeatureList() {
+        return feature_;
+      }
+      public int getFeatureCount() {
+        return feature_.size();
+      }
+      public String getFeature(int index) {
+        return feature_.get(index);
+      }
+      
+      // repeated double bias = 5 [packed = true];
+      public static final int BIAS_FIELD_NUMBER = 5;
+      private java.util.List<java.lang.Double> bias_;
+      public java.util.List<java.lang.Double>
+          getBiasList() {
+        return bias_;
+      }
+      public int getBiasCount() {
+        return bias_.size();
+      }
+      public double getBias(int index) {
+        return bias_.get(index);
+      }
+      private int biasMemoizedSerializedSize = -1;
+      
+      // repeated .com.toao.quicklearner.persistence.Model.QuantizedLogistic.LabelWeights weights = 6;
+      public static final int WEIGHTS_FIELD_NUMBER = 6;
+      private java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights> weights_;
+      public java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights> getWeightsList() {
+        return weights_;
+      }
+      public java.util.List<? extends com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder> 
+          getWeightsOrBuilderList() {
+        return weights_;
+      }
+      public int getWeightsCount() {
+        return weights_.size();
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights getWeights(int index) {
+        return weights_.get(index);
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder getWeightsOrBuilder(
+          int index) {
+        return weights_.get(index);
+      }
+      
+      private void initFields() {
+        labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        accuracy_ = 0D;
+        precision_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision.FLOAT16;
+        feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bias_ = java.util.Collections.emptyList();;
+        weights_ = java.util.Collections.emptyList();
+      }
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized != -1) return isInitialized == 1;
+        
+        memoizedIsInitialized = 1;
+        return true;
+      }
+      
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        getSerializedSize();
+        for (int i = 0; i < labels_.size(); i++) {
+          output.writeBytes(1, labels_.getByteString(i));
+        }
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          output.writeDouble(2, accuracy_);
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          output.writeEnum(3, precision_.getNumber());
+        }
+        for (int i = 0; i < feature_.size(); i++) {
+          output.writeBytes(4, feature_.getByteString(i));
+        }
+        if (getBiasList().size() > 0) {
+          output.writeRawVarint32(42);
+          output.writeRawVarint32(biasMemoizedSerializedSize);
+        }
+        for (int i = 0; i < bias_.size(); i++) {
+          output.writeDoubleNoTag(bias_.get(i));
+        }
+        for (int i = 0; i < weights_.size(); i++) {
+          output.writeMessage(6, weights_.get(i));
+        }
+        getUnknownFields().writeTo(output);
+      }
+      
+      private int memoizedSerializedSize = -1;
+      public int getSerializedSize() {
+        int size = memoizedSerializedSize;
+        if (size != -1) return size;
+      
+        size = 0;
+        {
+          int dataSize = 0;
+          for (int i = 0; i < labels_.size(); i++) {
+            dataSize += com.google.protobuf.CodedOutputStream
+              .computeBytesSizeNoTag(labels_.getByteString(i));
+          }
+          size += dataSize;
+          size += 1 * getLabelsList().size();
+        }
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeDoubleSize(2, accuracy_);
+        }
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeEnumSize(3, precision_.getNumber());
+        }
+        {
+          int dataSize = 0;
+          for (int i = 0; i < feature_.size(); i++) {
+            dataSize += com.google.protobuf.CodedOutputStream
+              .computeBytesSizeNoTag(feature_.getByteString(i));
+          }
+          size += dataSize;
+          size += 1 * getFeatureList().size();
+        }
+        {
+          int dataSize = 0;
+          dataSize = 8 * getBiasList().size();
+          size += dataSize;
+          if (!getBiasList().isEmpty()) {
+            size += 1;
+            size += com.google.protobuf.CodedOutputStream
+                .computeInt32SizeNoTag(dataSize);
+          }
+          biasMemoizedSerializedSize = dataSize;
+        }
+        for (int i = 0; i < weights_.size(); i++) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(6, weights_.get(i));
+        }
+        size += getUnknownFields().getSerializedSize();
+        memoizedSerializedSize = size;
+        return size;
+      }
+      
+      private static final long serialVersionUID = 0L;
+      @java.lang.Override
+      protected java.lang.Object writeReplace()
+          throws java.io.ObjectStreamException {
+        return super.writeReplace();
+      }
+      
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data, extensionRegistry)
+                 .buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return newBuilder().mergeFrom(data, extensionRegistry)
+                 .buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input, extensionRegistry)
+                 .buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        Builder builder = newBuilder();
+        if (builder.mergeDelimitedFrom(input)) {
+          return builder.buildParsed();
+        } else {
+          return null;
+        }
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        Builder builder = newBuilder();
+        if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+          return builder.buildParsed();
+        } else {
+          return null;
+        }
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input).buildParsed();
+      }
+      public static com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return newBuilder().mergeFrom(input, extensionRegistry)
+                 .buildParsed();
+      }
+      
+      public static Builder newBuilder() { return Builder.create(); }
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic prototype) {
+        return newBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() { return newBuilder(this); }
+      
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessage.Builder<Builder>
+         implements com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogisticOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_descriptor;
+        }
+        
+        protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_fieldAccessorTable;
+        }
+        
+        // Construct using com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+        
+        private Builder(BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+            getWeightsFieldBuilder();
+          }
+        }
+        private static Builder create() {
+          return new Builder();
+        }
+        
+        public Builder clear() {
+          super.clear();
+          labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000001);
+          accuracy_ = 0D;
+          bitField0_ = (bitField0_ & ~0x00000002);
+          precision_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision.FLOAT16;
+          bitField0_ = (bitField0_ & ~0x00000004);
+          feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000008);
+          bias_ = java.util.Collections.emptyList();;
+          bitField0_ = (bitField0_ & ~0x00000010);
+          if (weightsBuilder_ == null) {
+            weights_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000020);
+          } else {
+            weightsBuilder_.clear();
+          }
+          return this;
+        }
+        
+        public Builder clone() {
+          return create().mergeFrom(buildPartial());
+        }
+        
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDescriptor();
+        }
+        
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic getDefaultInstanceForType() {
+          return com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDefaultInstance();
+        }
+        
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic build() {
+          com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+        
+        private com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic buildParsed()
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(
+              result).asInvalidProtocolBufferException();
+          }
+          return result;
+        }
+        
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic buildPartial() {
+          com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic result = new com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            labels_ = new com.google.protobuf.UnmodifiableLazyStringList(
+                labels_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.labels_ = labels_;
+          if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+            to_bitField0_ |= 0x00000001;
+          }
+          result.accuracy_ = accuracy_;
+          if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+            to_bitField0_ |= 0x00000002;
+          }
+          result.precision_ = precision_;
+          if (((bitField0_ & 0x00000008) == 0x00000008)) {
+            feature_ = new com.google.protobuf.UnmodifiableLazyStringList(
+                feature_);
+            bitField0_ = (bitField0_ & ~0x00000008);
+          }
+          result.feature_ = feature_;
+          if (((bitField0_ & 0x00000010) == 0x00000010)) {
+            bias_ = java.util.Collections.unmodifiableList(bias_);
+            bitField0_ = (bitField0_ & ~0x00000010);
+          }
+          result.bias_ = bias_;
+          if (weightsBuilder_ == null) {
+            if (((bitField0_ & 0x00000020) == 0x00000020)) {
+              weights_ = java.util.Collections.unmodifiableList(weights_);
+              bitField0_ = (bitField0_ & ~0x00000020);
+            }
+            result.weights_ = weights_;
+          } else {
+            result.weights_ = weightsBuilder_.build();
+          }
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+        
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic) {
+            return mergeFrom((com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+        
+        public Builder mergeFrom(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic other) {
+          if (other == com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDefaultInstance()) return this;
+          if (!other.labels_.isEmpty()) {
+            if (labels_.isEmpty()) {
+              labels_ = other.labels_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureLabelsIsMutable();
+              labels_.addAll(other.labels_);
+            }
+            onChanged();
+          }
+          if (other.hasAccuracy()) {
+            setAccuracy(other.getAccuracy());
+          }
+          if (other.hasPrecision()) {
+            setPrecision(other.getPrecision());
+          }
+          if (!other.feature_.isEmpty()) {
+            if (feature_.isEmpty()) {
+              feature_ = other.feature_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+            } else {
+              ensureFeatureIsMutable();
+              feature_.addAll(other.feature_);
+            }
+            onChanged();
+          }
+          if (!other.bias_.isEmpty()) {
+            if (bias_.isEmpty()) {
+              bias_ = other.bias_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+            } else {
+              ensureBiasIsMutable();
+              bias_.addAll(other.bias_);
+            }
+            onChanged();
+          }
+          if (weightsBuilder_ == null) {
+            if (!other.weights_.isEmpty()) {
+              if (weights_.isEmpty()) {
+                weights_ = other.weights_;
+                bitField0_ = (bitField0_ & ~0x00000020);
+              } else {
+                ensureWeightsIsMutable();
+                weights_.addAll(other.weights_);
+              }
+              onChanged();
+            }
+          } else {
+            if (!other.weights_.isEmpty()) {
+              if (weightsBuilder_.isEmpty()) {
+                weightsBuilder_.dispose();
+                weightsBuilder_ = null;
+                weights_ = other.weights_;
+                bitField0_ = (bitField0_ & ~0x00000020);
+                weightsBuilder_ = 
+                  com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                     getWeightsFieldBuilder() : null;
+              } else {
+                weightsBuilder_.addAllMessages(other.weights_);
+              }
+            }
+          }
+          this.mergeUnknownFields(other.getUnknownFields());
+          return this;
+        }
+        
+        public final boolean isInitialized() {
+          return true;
+        }
+        
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder(
+              this.getUnknownFields());
+          while (true) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                this.setUnknownFields(unknownFields.build());
+                onChanged();
+                return this;
+              default: {
+                if (!parseUnknownField(input, unknownFields,
+                                       extensionRegistry, tag)) {
+                  this.setUnknownFields(unknownFields.build());
+                  onChanged();
+                  return this;
+                }
+                break;
+              }
+              case 10: {
+                ensureLabelsIsMutable();
+                labels_.add(input.readBytes());
+                break;
+              }
+              case 17: {
+                bitField0_ |= 0x00000002;
+                accuracy_ = input.readDouble();
+                break;
+              }
+              case 24: {
+                int rawValue = input.readEnum();
+                com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision value = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision.valueOf(rawValue);
+                if (value == null) {
+                  unknownFields.mergeVarintField(3, rawValue);
+                } else {
+                  bitField0_ |= 0x00000004;
+                  precision_ = value;
+                }
+                break;
+              }
+              case 34: {
+                ensureFeatureIsMutable();
+                feature_.add(input.readBytes());
+                break;
+              }
+              case 41: {
+                ensureBiasIsMutable();
+                bias_.add(input.readDouble());
+                break;
+              }
+              case 42: {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                while (input.getBytesUntilLimit() > 0) {
+                  addBias(input.readDouble());
+                }
+                input.popLimit(limit);
+                break;
+              }
+              case 50: {
+                com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder subBuilder = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.newBuilder();
+                input.readMessage(subBuilder, extensionRegistry);
+                addWeights(subBuilder.buildPartial());
+                break;
+              }
+            }
+          }
+        }
+        
+        private int bitField0_;
+        
+        // repeated string labels = 1;
+        private com.google.protobuf.LazyStringList labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        private void ensureLabelsIsMutable() {
+          if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+            labels_ = new com.google.protobuf.LazyStringArrayList(labels_);
+            bitField0_ |= 0x00000001;
+           }
+        }
+        public java.util.List<String>
+            getLabelsList() {
+          return java.util.Collections.unmodifiableList(labels_);
+        }
+        public int getLabelsCount() {
+          return labels_.size();
+        }
+        public String getLabels(int index) {
+          return labels_.get(index);
+        }
+        public Builder setLabels(
+            int index, String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureLabelsIsMutable();
+          labels_.set(index, value);
+          onChanged();
+          return this;
+        }
+        public Builder addLabels(String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureLabelsIsMutable();
+          labels_.add(value);
+          onChanged();
+          return this;
+        }
+        public Builder addAllLabels(
+            java.lang.Iterable<String> values) {
+          ensureLabelsIsMutable();
+          super.addAll(values, labels_);
+          onChanged();
+          return this;
+        }
+        public Builder clearLabels() {
+          labels_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+          return this;
+        }
+        void addLabels(com.google.protobuf.ByteString value) {
+          ensureLabelsIsMutable();
+          labels_.add(value);
+          onChanged();
+        }
+        
+        // optional double accuracy = 2;
+        private double accuracy_ ;
+        public boolean hasAccuracy() {
+          return ((bitField0_ & 0x00000002) == 0x00000002);
+        }
+        public double getAccuracy() {
+          return accuracy_;
+        }
+        public Builder setAccuracy(double value) {
+          bitField0_ |= 0x00000002;
+          accuracy_ = value;
+          onChanged();
+          return this;
+        }
+        public Builder clearAccuracy() {
+          bitField0_ = (bitField0_ & ~0x00000002);
+          accuracy_ = 0D;
+          onChanged();
+          return this;
+        }
+        
+        // optional .com.toao.quicklearner.persistence.Model.QuantizedLogistic.Precision precision = 3;
+        private com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision precision_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision.FLOAT16;
+        public boolean hasPrecision() {
+          return ((bitField0_ & 0x00000004) == 0x00000004);
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision getPrecision() {
+          return precision_;
+        }
+        public Builder setPrecision(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision value) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          bitField0_ |= 0x00000004;
+          precision_ = value;
+          onChanged();
+          return this;
+        }
+        public Builder clearPrecision() {
+          bitField0_ = (bitField0_ & ~0x00000004);
+          precision_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Precision.FLOAT16;
+          onChanged();
+          return this;
+        }
+        
+        // repeated string feature = 4;
+        private com.google.protobuf.LazyStringList feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        private void ensureFeatureIsMutable() {
+          if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+            feature_ = new com.google.protobuf.LazyStringArrayList(feature_);
+            bitField0_ |= 0x00000008;
+           }
+        }
+        public java.util.List<String>
+            getFeatureList() {
+          return java.util.Collections.unmodifiableList(feature_);
+        }
+        public int getFeatureCount() {
+          return feature_.size();
+        }
+        public String getFeature(int index) {
+          return feature_.get(index);
+        }
+        public Builder setFeature(
+            int index, String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureFeatureIsMutable();
+          feature_.set(index, value);
+          onChanged();
+          return this;
+        }
+        public Builder addFeature(String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureFeatureIsMutable();
+          feature_.add(value);
+          onChanged();
+          return this;
+        }
+        public Builder addAllFeature(
+            java.lang.Iterable<String> values) {
+          ensureFeatureIsMutable();
+          super.addAll(values, feature_);
+          onChanged();
+          return this;
+        }
+        public Builder clearFeature() {
+          feature_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000008);
+          onChanged();
+          return this;
+        }
+        void addFeature(com.google.protobuf.ByteString value) {
+          ensureFeatureIsMutable();
+          feature_.add(value);
+          onChanged();
+        }
+        
+        // repeated double bias = 5 [packed = true];
+        private java.util.List<java.lang.Double> bias_ = java.util.Collections.emptyList();;
+        private void ensureBiasIsMutable() {
+          if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+            bias_ = new java.util.ArrayList<java.lang.Double>(bias_);
+            bitField0_ |= 0x00000010;
+           }
+        }
+        public java.util.List<java.lang.Double>
+            getBiasList() {
+          return java.util.Collections.unmodifiableList(bias_);
+        }
+        public int getBiasCount() {
+          return bias_.size();
+        }
+        public double getBias(int index) {
+          return bias_.get(index);
+        }
+        public Builder setBias(
+            int index, double value) {
+          ensureBiasIsMutable();
+          bias_.set(index, value);
+          onChanged();
+          return this;
+        }
+        public Builder addBias(double value) {
+          ensureBiasIsMutable();
+          bias_.add(value);
+          onChanged();
+          return this;
+        }
+        public Builder addAllBias(
+            java.lang.Iterable<? extends java.lang.Double> values) {
+          ensureBiasIsMutable();
+          super.addAll(values, bias_);
+          onChanged();
+          return this;
+        }
+        public Builder clearBias() {
+          bias_ = java.util.Collections.emptyList();;
+          bitField0_ = (bitField0_ & ~0x00000010);
+          onChanged();
+          return this;
+        }
+        
+        // repeated .com.toao.quicklearner.persistence.Model.QuantizedLogistic.LabelWeights weights = 6;
+        private java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights> weights_ =
+          java.util.Collections.emptyList();
+        private void ensureWeightsIsMutable() {
+          if (!((bitField0_ & 0x00000020) == 0x00000020)) {
+            weights_ = new java.util.ArrayList<com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights>(weights_);
+            bitField0_ |= 0x00000020;
+           }
+        }
+        
+        private com.google.protobuf.RepeatedFieldBuilder<
+            com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder> weightsBuilder_;
+        
+        public java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights> getWeightsList() {
+          if (weightsBuilder_ == null) {
+            return java.util.Collections.unmodifiableList(weights_);
+          } else {
+            return weightsBuilder_.getMessageList();
+          }
+        }
+        public int getWeightsCount() {
+          if (weightsBuilder_ == null) {
+            return weights_.size();
+          } else {
+            return weightsBuilder_.getCount();
+          }
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights getWeights(int index) {
+          if (weightsBuilder_ == null) {
+            return weights_.get(index);
+          } else {
+            return weightsBuilder_.getMessage(index);
+          }
+        }
+        public Builder setWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights value) {
+          if (weightsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureWeightsIsMutable();
+            weights_.set(index, value);
+            onChanged();
+          } else {
+            weightsBuilder_.setMessage(index, value);
+          }
+          return this;
+        }
+        public Builder setWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder builderForValue) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.set(index, builderForValue.build());
+            onChanged();
+          } else {
+            weightsBuilder_.setMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        public Builder addWeights(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights value) {
+          if (weightsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureWeightsIsMutable();
+            weights_.add(value);
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(value);
+          }
+          return this;
+        }
+        public Builder addWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights value) {
+          if (weightsBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            ensureWeightsIsMutable();
+            weights_.add(index, value);
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(index, value);
+          }
+          return this;
+        }
+        public Builder addWeights(
+            com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder builderForValue) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.add(builderForValue.build());
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(builderForValue.build());
+          }
+          return this;
+        }
+        public Builder addWeights(
+            int index, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder builderForValue) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.add(index, builderForValue.build());
+            onChanged();
+          } else {
+            weightsBuilder_.addMessage(index, builderForValue.build());
+          }
+          return this;
+        }
+        public Builder addAllWeights(
+            java.lang.Iterable<? extends com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights> values) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            super.addAll(values, weights_);
+            onChanged();
+          } else {
+            weightsBuilder_.addAllMessages(values);
+          }
+          return this;
+        }
+        public Builder clearWeights() {
+          if (weightsBuilder_ == null) {
+            weights_ = java.util.Collections.emptyList();
+            bitField0_ = (bitField0_ & ~0x00000020);
+            onChanged();
+          } else {
+            weightsBuilder_.clear();
+          }
+          return this;
+        }
+        public Builder removeWeights(int index) {
+          if (weightsBuilder_ == null) {
+            ensureWeightsIsMutable();
+            weights_.remove(index);
+            onChanged();
+          } else {
+            weightsBuilder_.remove(index);
+          }
+          return this;
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder getWeightsBuilder(
+            int index) {
+          return getWeightsFieldBuilder().getBuilder(index);
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder getWeightsOrBuilder(
+            int index) {
+          if (weightsBuilder_ == null) {
+            return weights_.get(index);  } else {
+            return weightsBuilder_.getMessageOrBuilder(index);
+          }
+        }
+        public java.util.List<? extends com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder> 
+             getWeightsOrBuilderList() {
+          if (weightsBuilder_ != null) {
+            return weightsBuilder_.getMessageOrBuilderList();
+          } else {
+            return java.util.Collections.unmodifiableList(weights_);
+          }
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder addWeightsBuilder() {
+          return getWeightsFieldBuilder().addBuilder(
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.getDefaultInstance());
+        }
+        public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder addWeightsBuilder(
+            int index) {
+          return getWeightsFieldBuilder().addBuilder(
+              index, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.getDefaultInstance());
+        }
+        public java.util.List<com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder> 
+             getWeightsBuilderList() {
+          return getWeightsFieldBuilder().getBuilderList();
+        }
+        private com.google.protobuf.RepeatedFieldBuilder<
+            com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder> 
+            getWeightsFieldBuilder() {
+          if (weightsBuilder_ == null) {
+            weightsBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+                com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeightsOrBuilder>(
+                    weights_,
+                    ((bitField0_ & 0x00000020) == 0x00000020),
+                    getParentForChildren(),
+                    isClean());
+            weights_ = null;
+          }
+          return weightsBuilder_;
+        }
+        
+        // @@protoc_insertion_point(builder_scope:com.toao.quicklearner.persistence.Model.QuantizedLogistic)
+      }
+      
+      static {
+        defaultInstance = new QuantizedLogistic(true);
+        defaultInstance.initFields();
+      }
+      
+      // @@protoc_insertion_point(class_scope:com.toao.quicklearner.persistence.Model.QuantizedLogistic)
+    }
+    
+    private int bitField0_;
+    // required .com.toao.quicklearner.persistence.Model.LearnerType learnerType = 1;
+    public static final int LEARNERTYPE_FIELD_NUMBER = 1;
+    private com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType learnerType_;
+    public boolean hasLearnerType() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    public com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType getLearnerType() {
+      return learnerType_;
+    }
+    
+    // optional .com.toao.quicklearner.persistence.Model.Logistic logistic = 2;
+    public static final int LOGISTIC_FIELD_NUMBER = 2;
+    private com.toao.quicklearner.persistence.LearnerModel.Model.Logistic logistic_;
+    public boolean hasLogistic() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    public com.toao.quicklearner.persistence.LearnerModel.Model.Logistic getLogistic() {
+      return logistic_;
+    }
+    public com.toao.quicklearner.persistence.LearnerModel.Model.LogisticOrBuilder getLogisticOrBuilder() {
+      return logistic_;
+    }
+    
+    // optional .com.toao.quicklearner.persistence.Model.CompactLogistic compactLogistic = 3;
+    public static final int COMPACTLOGISTIC_FIELD_NUMBER = 3;
+    private com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic compactLogistic_;
+    public boolean hasCompactLogistic() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic getCompactLogistic() {
+      return compactLogistic_;
+    }
+    public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogisticOrBuilder getCompactLogisticOrBuilder() {
+      return compactLogistic_;
+    }
+    
+    // optional .com.toao.quicklearner.persistence.Model.QuantizedLogistic quantizedLogistic = 4;
+    public static final int QUANTIZEDLOGISTIC_FIELD_NUMBER = 4;
+    private com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic quantizedLogistic_;
+    public boolean hasQuantizedLogistic() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic getQuantizedLogistic() {
+      return quantizedLogistic_;
+    }
+    public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogisticOrBuilder getQuantizedLogisticOrBuilder() {
+      return quantizedLogistic_;
+    }
+    
+    private void initFields() {
+      learnerType_ = com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType.LOGISTIC;
+      logistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.getDefaultInstance();
+      compactLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDefaultInstance();
+      quantizedLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDefaultInstance();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+      
+      if (!hasLearnerType()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+    
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeEnum(1, learnerType_.getNumber());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(2, logistic_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeMessage(3, compactLogistic_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeMessage(4, quantizedLogistic_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+    
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+    
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(1, learnerType_.getNumber());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, logistic_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, compactLogistic_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, quantizedLogistic_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+    
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+    
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data).buildParsed();
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return newBuilder().mergeFrom(data, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      Builder builder = newBuilder();
+      if (builder.mergeDelimitedFrom(input, extensionRegistry)) {
+        return builder.buildParsed();
+      } else {
+        return null;
+      }
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input).buildParsed();
+    }
+    public static com.toao.quicklearner.persistence.LearnerModel.Model parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return newBuilder().mergeFrom(input, extensionRegistry)
+               .buildParsed();
+    }
+    
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.toao.quicklearner.persistence.LearnerModel.Model prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+    
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.toao.quicklearner.persistence.LearnerModel.ModelOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_descriptor;
+      }
+      
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.toao.quicklearner.persistence.LearnerModel.internal_static_com_toao_quicklearner_persistence_Model_fieldAccessorTable;
+      }
+      
+      // Construct using com.toao.quicklearner.persistence.LearnerModel.Model.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+      
+      private Builder(BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getLogisticFieldBuilder();
+          getCompactLogisticFieldBuilder();
+          getQuantizedLogisticFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+      
+      public Builder clear() {
+        super.clear();
+        learnerType_ = com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType.LOGISTIC;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (logisticBuilder_ == null) {
+          logistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.getDefaultInstance();
+        } else {
+          logisticBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        if (compactLogisticBuilder_ == null) {
+          compactLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDefaultInstance();
+        } else {
+          compactLogisticBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        if (quantizedLogisticBuilder_ == null) {
+          quantizedLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDefaultInstance();
+        } else {
+          quantizedLogisticBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+      
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+      
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.toao.quicklearner.persistence.LearnerModel.Model.getDescriptor();
+      }
+      
+      public com.toao.quicklearner.persistence.LearnerModel.Model getDefaultInstanceForType() {
+        return com.toao.quicklearner.persistence.LearnerModel.Model.getDefaultInstance();
+      }
+      
+      public com.toao.quicklearner.persistence.LearnerModel.Model build() {
+        com.toao.quicklearner.persistence.LearnerModel.Model result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+      
+      private com.toao.quicklearner.persistence.LearnerModel.Model buildParsed()
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        com.toao.quicklearner.persistence.LearnerModel.Model result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(
+            result).asInvalidProtocolBufferException();
+        }
+        return result;
+      }
+      
+      public com.toao.quicklearner.persistence.LearnerModel.Model buildPartial() {
+        com.toao.quicklearner.persistence.LearnerModel.Model result = new com.toao.quicklearner.persistence.LearnerModel.Model(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.learnerType_ = learnerType_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (logisticBuilder_ == null) {
+          result.logistic_ = logistic_;
+        } else {
+          result.logistic_ = logisticBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        if (compactLogisticBuilder_ == null) {
+          result.compactLogistic_ = compactLogistic_;
+        } else {
+          result.compactLogistic_ = compactLogisticBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        if (quantizedLogisticBuilder_ == null) {
+          result.quantizedLogistic_ = quantizedLogistic_;
+        } else {
+          result.quantizedLogistic_ = quantizedLogisticBuilder_.build();
         }
         result.bitField0_ = to_bitField0_;
         onBuilt();
@@ -1812,6 +4954,12 @@ public final class LearnerModel {
         if (other.hasLogistic()) {
           mergeLogistic(other.getLogistic());
         }
+        if (other.hasCompactLogistic()) {
+          mergeCompactLogistic(other.getCompactLogistic());
+        }
+        if (other.hasQuantizedLogistic()) {
+          mergeQuantizedLogistic(other.getQuantizedLogistic());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -1867,6 +5015,24 @@ public final class LearnerModel {
               setLogistic(subBuilder.buildPartial());
               break;
             }
+            case 26: {
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.Builder subBuilder = com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.newBuilder();
+              if (hasCompactLogistic()) {
+                subBuilder.mergeFrom(getCompactLogistic());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setCompactLogistic(subBuilder.buildPartial());
+              break;
+            }
+            case 34: {
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Builder subBuilder = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.newBuilder();
+              if (hasQuantizedLogistic()) {
+                subBuilder.mergeFrom(getQuantizedLogistic());
+              }
+              input.readMessage(subBuilder, extensionRegistry);
+              setQuantizedLogistic(subBuilder.buildPartial());
+              break;
+            }
           }
         }
       }
@@ -1987,6 +5153,186 @@ public final class LearnerModel {
         return logisticBuilder_;
       }
       
+      // optional .com.toao.quicklearner.persistence.Model.CompactLogistic compactLogistic = 3;
+      private com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic compactLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogisticOrBuilder> compactLogisticBuilder_;
+      public boolean hasCompactLogistic() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic getCompactLogistic() {
+        if (compactLogisticBuilder_ == null) {
+          return compactLogistic_;
+        } else {
+          return compactLogisticBuilder_.getMessage();
+        }
+      }
+      public Builder setCompactLogistic(com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic value) {
+        if (compactLogisticBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          compactLogistic_ = value;
+          onChanged();
+        } else {
+          compactLogisticBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      public Builder setCompactLogistic(
+          com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.Builder builderForValue) {
+        if (compactLogisticBuilder_ == null) {
+          compactLogistic_ = builderForValue.build();
+          onChanged();
+        } else {
+          compactLogisticBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      public Builder mergeCompactLogistic(com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic value) {
+        if (compactLogisticBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004) &&
+              compactLogistic_ != com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDefaultInstance()) {
+            compactLogistic_ =
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.newBuilder(compactLogistic_).mergeFrom(value).buildPartial();
+          } else {
+            compactLogistic_ = value;
+          }
+          onChanged();
+        } else {
+          compactLogisticBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      public Builder clearCompactLogistic() {
+        if (compactLogisticBuilder_ == null) {
+          compactLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.getDefaultInstance();
+          onChanged();
+        } else {
+          compactLogisticBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.Builder getCompactLogisticBuilder() {
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return getCompactLogisticFieldBuilder().getBuilder();
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogisticOrBuilder getCompactLogisticOrBuilder() {
+        if (compactLogisticBuilder_ != null) {
+          return compactLogisticBuilder_.getMessageOrBuilder();
+        } else {
+          return compactLogistic_;
+        }
+      }
+      private com.google.protobuf.SingleFieldBuilder<
+          com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogisticOrBuilder> 
+          getCompactLogisticFieldBuilder() {
+        if (compactLogisticBuilder_ == null) {
+          compactLogisticBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogisticOrBuilder>(
+                  compactLogistic_,
+                  getParentForChildren(),
+                  isClean());
+          compactLogistic_ = null;
+        }
+        return compactLogisticBuilder_;
+      }
+      
+      // optional .com.toao.quicklearner.persistence.Model.QuantizedLogistic quantizedLogistic = 4;
+      private com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic quantizedLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogisticOrBuilder> quantizedLogisticBuilder_;
+      public boolean hasQuantizedLogistic() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic getQuantizedLogistic() {
+        if (quantizedLogisticBuilder_ == null) {
+          return quantizedLogistic_;
+        } else {
+          return quantizedLogisticBuilder_.getMessage();
+        }
+      }
+      public Builder setQuantizedLogistic(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic value) {
+        if (quantizedLogisticBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          quantizedLogistic_ = value;
+          onChanged();
+        } else {
+          quantizedLogisticBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      public Builder setQuantizedLogistic(
+          com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Builder builderForValue) {
+        if (quantizedLogisticBuilder_ == null) {
+          quantizedLogistic_ = builderForValue.build();
+          onChanged();
+        } else {
+          quantizedLogisticBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      public Builder mergeQuantizedLogistic(com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic value) {
+        if (quantizedLogisticBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) == 0x00000008) &&
+              quantizedLogistic_ != com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDefaultInstance()) {
+            quantizedLogistic_ =
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.newBuilder(quantizedLogistic_).mergeFrom(value).buildPartial();
+          } else {
+            quantizedLogistic_ = value;
+          }
+          onChanged();
+        } else {
+          quantizedLogisticBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000008;
+        return this;
+      }
+      public Builder clearQuantizedLogistic() {
+        if (quantizedLogisticBuilder_ == null) {
+          quantizedLogistic_ = com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.getDefaultInstance();
+          onChanged();
+        } else {
+          quantizedLogisticBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Builder getQuantizedLogisticBuilder() {
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return getQuantizedLogisticFieldBuilder().getBuilder();
+      }
+      public com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogisticOrBuilder getQuantizedLogisticOrBuilder() {
+        if (quantizedLogisticBuilder_ != null) {
+          return quantizedLogisticBuilder_.getMessageOrBuilder();
+        } else {
+          return quantizedLogistic_;
+        }
+      }
+      private com.google.protobuf.SingleFieldBuilder<
+          com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogisticOrBuilder> 
+          getQuantizedLogisticFieldBuilder() {
+        if (quantizedLogisticBuilder_ == null) {
+          quantizedLogisticBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Builder, com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogisticOrBuilder>(
+                  quantizedLogistic_,
+                  getParentForChildren(),
+                  isClean());
+          quantizedLogistic_ = null;
+        }
+        return quantizedLogisticBuilder_;
+      }
+      
       // @@protoc_insertion_point(builder_scope:com.toao.quicklearner.persistence.Model)
     }
     
@@ -2013,6 +5359,26 @@ public final class LearnerModel {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_com_toao_quicklearner_persistence_Model_Logistic_InternalLogistic_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_fieldAccessorTable;
   
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -2023,17 +5389,38 @@ public final class LearnerModel {
   static {
     java.lang.String[] descriptorData = {
       "\n\022LearnerModel.proto\022!com.toao.quicklear" +
-      "ner.persistence\"\214\003\n\005Model\022I\n\013learnerType" +
+      "ner.persistence\"\331\t\n\005Model\022I\n\013learnerType" +
       "\030\001 \002(\01624.com.toao.quicklearner.persisten" +
       "ce.Model.LearnerType\022C\n\010logistic\030\002 \001(\01321" +
       ".com.toao.quicklearner.persistence.Model" +
-      ".Logistic\032\325\001\n\010Logistic\022U\n\tinternals\030\001 \003(" +
-      "\0132B.com.toao.quicklearner.persistence.Mo" +
-      "del.Logistic.InternalLogistic\022\016\n\006labels\030" +
-      "\002 \003(\t\022\020\n\010accuracy\030\003 \001(\001\032P\n\020InternalLogis" +
-      "tic\022\017\n\007feature\030\001 \003(\t\022\r\n\005omega\030\002 \003(\001\022\014\n\004m",
-      "ean\030\003 \003(\001\022\016\n\006stdDev\030\004 \003(\001\"\033\n\013LearnerType" +
-      "\022\014\n\010LOGISTIC\020\000"
+      ".Logistic\022Q\n\017compactLogistic\030\003 \001(\01328.com" +
+      ".toao.quicklearner.persistence.Model.Com" +
+      "pactLogistic\022U\n\021quantizedLogistic\030\004 \001(\0132" +
+      ":.com.toao.quicklearner.persistence.Mode" +
+      "l.QuantizedLogistic\032\325\001\n\010Logistic\022U\n\tinte",
+      "rnals\030\001 \003(\0132B.com.toao.quicklearner.pers" +
+      "istence.Model.Logistic.InternalLogistic\022" +
+      "\016\n\006labels\030\002 \003(\t\022\020\n\010accuracy\030\003 \001(\001\032P\n\020Int" +
+      "ernalLogistic\022\017\n\007feature\030\001 \003(\t\022\r\n\005omega\030" +
+      "\002 \003(\001\022\014\n\004mean\030\003 \003(\001\022\016\n\006stdDev\030\004 \003(\001\032\346\001\n\017" +
+      "CompactLogistic\022\016\n\006labels\030\001 \003(\t\022\020\n\010accur" +
+      "acy\030\002 \001(\001\022\017\n\007feature\030\003 \003(\t\022\020\n\004bias\030\004 \003(\001" +
+      "B\002\020\001\022V\n\007weights\030\005 \003(\0132E.com.toao.quickle" +
+      "arner.persistence.Model.CompactLogistic." +
+      "LabelWeights\0326\n\014LabelWeights\022\022\n\006weight\030\001",
+      " \003(\001B\002\020\001\022\022\n\006offset\030\002 \003(\001B\002\020\001\032\211\003\n\021Quantiz" +
+      "edLogistic\022\016\n\006labels\030\001 \003(\t\022\020\n\010accuracy\030\002" +
+      " \001(\001\022W\n\tprecision\030\003 \001(\0162D.com.toao.quick" +
+      "learner.persistence.Model.QuantizedLogis" +
+      "tic.Precision\022\017\n\007feature\030\004 \003(\t\022\020\n\004bias\030\005" +
+      " \003(\001B\002\020\001\022X\n\007weights\030\006 \003(\0132G.com.toao.qui" +
+      "cklearner.persistence.Model.QuantizedLog" +
+      "istic.LabelWeights\032X\n\014LabelWeights\022\023\n\013we" +
+      "ightScale\030\001 \001(\001\022\023\n\013offsetScale\030\002 \001(\001\022\016\n\006" +
+      "weight\030\003 \001(\014\022\016\n\006offset\030\004 \001(\014\"\"\n\tPrecisio",
+      "n\022\013\n\007FLOAT16\020\000\022\010\n\004INT8\020\001\"I\n\013LearnerType\022" +
+      "\014\n\010LOGISTIC\020\000\022\024\n\020COMPACT_LOGISTIC\020\001\022\026\n\022Q" +
+      "UANTIZED_LOGISTIC\020\002"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -2045,7 +5432,7 @@ public final class LearnerModel {
           internal_static_com_toao_quicklearner_persistence_Model_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_toao_quicklearner_persistence_Model_descriptor,
-              new java.lang.String[] { "LearnerType", "Logistic", },
+              new java.lang.String[] { "LearnerType", "Logistic", "CompactLogistic", "QuantizedLogistic", },
               com.toao.quicklearner.persistence.LearnerModel.Model.class,
               com.toao.quicklearner.persistence.LearnerModel.Model.Builder.class);
           internal_static_com_toao_quicklearner_persistence_Model_Logistic_descriptor =
@@ -2064,6 +5451,38 @@ public final class LearnerModel {
               new java.lang.String[] { "Feature", "Omega", "Mean", "StdDev", },
               com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.InternalLogistic.class,
               com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.InternalLogistic.Builder.class);
+          internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_descriptor =
+            internal_static_com_toao_quicklearner_persistence_Model_descriptor.getNestedTypes().get(1);
+          internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_descriptor,
+              new java.lang.String[] { "Labels", "Accuracy", "Feature", "Bias", "Weights", },
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.class,
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.Builder.class);
+          internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_descriptor =
+            internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_descriptor.getNestedTypes().get(0);
+          internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_toao_quicklearner_persistence_Model_CompactLogistic_LabelWeights_descriptor,
+              new java.lang.String[] { "Weight", "Offset", },
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.class,
+              com.toao.quicklearner.persistence.LearnerModel.Model.CompactLogistic.LabelWeights.Builder.class);
+          internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_descriptor =
+            internal_static_com_toao_quicklearner_persistence_Model_descriptor.getNestedTypes().get(2);
+          internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_descriptor,
+              new java.lang.String[] { "Labels", "Accuracy", "Precision", "Feature", "Bias", "Weights", },
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.class,
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.Builder.class);
+          internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_descriptor =
+            internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_descriptor.getNestedTypes().get(0);
+          internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_toao_quicklearner_persistence_Model_QuantizedLogistic_LabelWeights_descriptor,
+              new java.lang.String[] { "WeightScale", "OffsetScale", "Weight", "Offset", },
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.class,
+              com.toao.quicklearner.persistence.LearnerModel.Model.QuantizedLogistic.LabelWeights.Builder.class);
           return null;
         }
       };
@@ -1,25 +1,58 @@
 package com.toao.quicklearner;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.toao.quicklearner.Learner;
 import com.toao.quicklearner.LearnerBuilder;
+import com.toao.quicklearner.persistence.LearnerModel.Model;
+import com.toao.quicklearner.persistence.LearnerModel.Model.LearnerType;
+import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic;
+import com.toao.quicklearner.persistence.LearnerModel.Model.Logistic.InternalLogistic;
 
 public class TestClassification
 {
 	@Test
 	public void testWithFakeLinearlySeperableDataTwoClass() throws InvalidProtocolBufferException
 	{
-		LearnerBuilder builder = Learner.builder();
+		LearnerBuilder builder = twoClassBuilder(new Random());
 		
-		Random random = new Random();
+		Learner learner = builder.build();
+		
+		testTwoClassLearner(learner);
+		
+		// Now we check that serialisation actually works properly
+		
+		byte[] savedLearner = learner.serialise();
+		
+		Learner newLearner = Learner.load(savedLearner);
+		
+		testTwoClassLearner(newLearner);
+	}
+	
+	private LearnerBuilder twoClassBuilder(Random random)
+	{
+		LearnerBuilder builder = Learner.builder();
 		
 		for( int c = 0 ; c < 100 ; c++ )
 		{
@@ -37,17 +70,7 @@ public class TestClassification
 			}
 		}
 		
-		Learner learner = builder.build();
-		
-		testTwoClassLearner(learner);
-		
-		// Now we check that serialisation actually works properly
-		
-		byte[] savedLearner = learner.serialise();
-		
-		Learner newLearner = Learner.load(savedLearner);
-		
-		testTwoClassLearner(newLearner);
+		return builder;
 	}
 	
 	private void testTwoClassLearner(Learner learner)
@@ -67,10 +90,894 @@ public class TestClassification
 	
 	@Test
 	public void testWithFakeLinearlySeperableDataMultiClass() throws InvalidProtocolBufferException
+	{
+		LearnerBuilder builder = multiClassBuilder();
+		
+		Learner learner = builder.build();
+		
+		testMultiClassLearner(learner);
+		
+		// Now we check that serialisation actually works properly, again
+		
+		byte[] savedLearner = learner.serialise();
+		
+		Learner newLearner = Learner.load(savedLearner);
+		
+		testMultiClassLearner(newLearner);
+	}
+	
+	@Test
+	public void testMappedModelFile() throws IOException
+	{
+		Learner learner = multiClassBuilder().build();
+		
+		File file = File.createTempFile("quicklearner", ".model");
+		
+		try
+		{
+			learner.save(file.toPath());
+			
+			Learner mapped = Learner.load(file.toPath());
+			
+			testMultiClassLearner(mapped);
+			
+			assertEquals(learner.getLabels(), mapped.getLabels());
+			assertEquals(learner.getAccuracy(), mapped.getAccuracy(), 0.0);
+			
+			for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+			{
+				Map<String,Double> features = ImmutableMap.of("x", x, "y", -x, "unknown", 1.0);
+				
+				assertEquals(learner.getLabelProbabilities(features), mapped.getLabelProbabilities(features));
+			}
+			
+			// A mapped model serialises to the same protobuf model
+			testMultiClassLearner(Learner.load(mapped.serialise()));
+			
+			// Each label's length is an int at a multiple of 4 bytes, whatever the length of the labels before it
+			ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+			int position = 20;
+			
+			for( int c = 0 ; c < header.getInt(16) ; c++ )
+			{
+				assertEquals(0, position % 4);
+				
+				int length = header.getInt(position);
+				
+				assertEquals(learner.getLabels().get(c).charAt(0), header.getChar(position + 4));
+				
+				position = (position + 4 + 2 * length + 3) & ~3;
+			}
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testLoadsPerLabelModelLayout() throws IOException
+	{
+		Logistic.Builder logistic = Logistic.newBuilder().setAccuracy(0.5);
+		
+		for( String label : new String[] { "blue", "green", "red" } )
+		{
+			logistic.addLabels(label);
+			logistic.addInternals(InternalLogistic.newBuilder()
+					.addFeature("x").addOmega(label.equals("blue") ? -1.0 : 1.0).addMean(2.0).addStdDev(4.0)
+					.addFeature(FeatureMatrix.BIAS_NAME).addOmega(label.equals("red") ? -1.0 : 0.0).addMean(0.0).addStdDev(1.0));
+		}
+		
+		byte[] perLabel = Model.newBuilder().setLearnerType(LearnerType.LOGISTIC).setLogistic(logistic).build().toByteArray();
+		
+		for( Learner learner : new Learner[] { Learner.load(perLabel), Learner.load(new ByteArrayInputStream(perLabel)) } )
+		{
+			Map<String,Double> probabilities = learner.getLabelProbabilities(ImmutableMap.of("x", 6.0));
+			
+			assertEquals(0.5, learner.getAccuracy(), 0.0);
+			assertEquals(1 / (1 + Math.exp(1.0)), probabilities.get("blue"), 1e-12);
+			assertEquals(1 / (1 + Math.exp(-1.0)), probabilities.get("green"), 1e-12);
+			assertEquals(0.5, probabilities.get("red"), 1e-12);
+			
+			// Saved again in the compact layout, with the shared dictionary
+			byte[] compact = learner.serialise();
+			
+			assertEquals(probabilities, Learner.load(compact).getLabelProbabilities(ImmutableMap.of("x", 6.0)));
+			assertTrue(compact.length < perLabel.length);
+		}
+	}
+	
+	@Test
+	public void testStreamingSerialisation() throws IOException
+	{
+		Learner learner = multiClassBuilder().build();
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		
+		learner.writeTo(out);
+		
+		Learner streamed = Learner.load(new ByteArrayInputStream(out.toByteArray()));
+		
+		testMultiClassLearner(streamed);
+		
+		assertEquals(learner.getAccuracy(), streamed.getAccuracy(), 0.0);
+		assertEquals(learner.getLabelProbabilities(ImmutableMap.of("x", 1.0)), streamed.getLabelProbabilities(ImmutableMap.of("x", 1.0)));
+		
+		// The stream is an ordinary model message
+		testMultiClassLearner(Learner.load(out.toByteArray()));
+		testMultiClassLearner(Learner.load(new ByteArrayInputStream(learner.serialise())));
+	}
+	
+	@Test
+	public void testOffHeapLearner()
+	{
+		LogisticLearner learner = (LogisticLearner) multiClassBuilder().build();
+		LogisticLearner offHeap = learner.offHeap();
+		
+		try
+		{
+			testMultiClassLearner(offHeap);
+			
+			for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+			{
+				Map<String,Double> features = ImmutableMap.of("x", x, "y", -x, "unknown", 1.0);
+				
+				assertEquals(learner.getLabelProbabilities(features), offHeap.getLabelProbabilities(features));
+			}
+		}
+		finally
+		{
+			offHeap.close();
+		}
+		
+		try
+		{
+			offHeap.classify(ImmutableMap.of("x", 1.0));
+			fail("Classified with closed weights");
+		}
+		catch( IllegalStateException e )
+		{
+			// Expected
+		}
+
+		try
+		{
+			offHeap.getLabelProbability(ImmutableMap.of("x", 1.0), offHeap.getLabels().get(0));
+			fail("Scored a label with closed weights");
+		}
+		catch( IllegalStateException e )
+		{
+			// Expected
+		}
+
+		try
+		{
+			offHeap.serialise();
+			fail("Serialised closed weights");
+		}
+		catch( IllegalStateException e )
+		{
+			// Expected
+		}
+
+		// Closing again does nothing
+		offHeap.close();
+	}
+	
+	@Test
+	public void testQuantizedLearner() throws InvalidProtocolBufferException
+	{
+		LogisticLearner learner = (LogisticLearner) multiClassBuilder().build();
+		List<Map<String,Double>> examples = Lists.newArrayList();
+		
+		for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+		{
+			examples.add(ImmutableMap.of("x", x, "y", -x, "unknown", 1.0));
+		}
+		
+		byte[] full = learner.serialise();
+		
+		for( WeightPrecision precision : WeightPrecision.values() )
+		{
+			QuantizationReport report = learner.quantize(precision, examples);
+			LogisticLearner quantized = report.getLearner();
+			double maxDeviation = 0.0;
+			
+			testMultiClassLearner(quantized);
+			
+			for( Map<String,Double> features : examples )
+			{
+				Map<String,Double> probabilities = learner.getLabelProbabilities(features);
+				Map<String,Double> quantizedProbabilities = quantized.getLabelProbabilities(features);
+				
+				for( String label : learner.getLabels() )
+				{
+					maxDeviation = Math.max(maxDeviation, Math.abs(probabilities.get(label) - quantizedProbabilities.get(label)));
+				}
+			}
+			
+			assertEquals(examples.size(), report.getExampleCount());
+			assertEquals(maxDeviation, report.getMaxProbabilityDeviation(), 0.0);
+			assertTrue("Deviation was " + maxDeviation, maxDeviation < (precision == WeightPrecision.INT8 ? 0.05 : 0.005));
+			
+			// Serialised in the quantized layout, which reloads exactly
+			byte[] bytes = quantized.serialise();
+			Learner loaded = Learner.load(bytes);
+			
+			assertTrue(bytes.length < full.length);
+			
+			for( Map<String,Double> features : examples )
+			{
+				assertEquals(quantized.getLabelProbabilities(features), loaded.getLabelProbabilities(features));
+			}
+		}
+	}
+	
+	@Test
+	public void testLazyLoading() throws InvalidProtocolBufferException
+	{
+		Learner learner = multiClassBuilder().build();
+		byte[] bytes = learner.serialise();
+		
+		Learner lazy = Learner.loadLazily(bytes);
+		
+		assertEquals(learner.getLabels(), lazy.getLabels());
+		assertEquals(learner.getAccuracy(), lazy.getAccuracy(), 0.0);
+		
+		// One label at a time, decoding only that label's weights
+		for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+		{
+			Map<String,Double> features = ImmutableMap.of("x", x, "y", -x, "unknown", 1.0);
+			Map<String,Double> probabilities = learner.getLabelProbabilities(features);
+			
+			for( String label : learner.getLabels() )
+			{
+				assertEquals(probabilities.get(label), lazy.getLabelProbability(features, label), 0.0);
+			}
+		}
+		
+		testMultiClassLearner(Learner.loadLazily(bytes));
+		
+		// Layouts with no lazy form are read in full
+		testMultiClassLearner(Learner.loadLazily(((LogisticLearner) learner).quantize(WeightPrecision.FLOAT16).serialise()));
+	}
+	
+	@Test
+	public void testWithBinaryTextFeatures()
 	{
 		LearnerBuilder builder = Learner.builder();
 		
+		// Evenly balanced classes, with every filler word appearing equally often in both so that only the topic
+		// words separate them
+		for( int c = 0 ; c < 100 ; c++ )
+		{
+			String filler = "word" + (c / 2) % 20;
+			
+			if( c % 2 == 0 )
+			{
+				builder.addExample("sport", ImmutableSet.of("football", "goal", filler));
+			}
+			else
+			{
+				builder.addExample("weather", ImmutableSet.of("rain", "cloud", filler));
+			}
+		}
+		
+		Learner learner = builder.build();
+		
+		assertEquals("sport", learner.classify(ImmutableMap.of("goal", 1.0)));
+		assertEquals("weather", learner.classify(ImmutableMap.of("rain", 1.0, "word3", 1.0)));
+		assertEquals("weather", ((LogisticLearner) learner).classify(ImmutableSet.of("rain", "cloud", "word3")));
+	}
+	
+	@Test
+	public void testParallelTrainingMultiClass()
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		
+		try
+		{
+			Learner learner = multiClassBuilder().withExecutor(executor).build();
+			
+			testMultiClassLearner(learner);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelTrainingIsRepeatable()
+	{
+		// The same examples trained twice concurrently must pick the same regulariser and give the same model
+		Learner[] twoClass = { twoClassBuilder(new Random(42)).parallel().build(), twoClassBuilder(new Random(42)).parallel().build() };
+		Learner[] multiClass = { multiClassBuilder(new Random(42)).parallel().build(), multiClassBuilder(new Random(42)).parallel().build() };
+		
+		testTwoClassLearner(twoClass[0]);
+		testMultiClassLearner(multiClass[0]);
+		
+		for( Learner[] learners : new Learner[][] { twoClass, multiClass } )
+		{
+			assertEquals(learners[0].getAccuracy(), learners[1].getAccuracy(), 0.0);
+			
+			for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+			{
+				Map<String,Double> features = ImmutableMap.of("x", x, "y", -x);
+				
+				assertEquals(learners[0].getLabelProbabilities(features), learners[1].getLabelProbabilities(features));
+			}
+		}
+	}
+	
+	@Test
+	public void testBestCandidateTiesGoToTheEarliest()
+	{
+		LearnerBuilder.BestCandidate best = new LearnerBuilder.BestCandidate();
+		double[][] omegas = new double[3][];
+		
+		best.offer(5, 1.0, omegas);
+		best.offer(2, 1.0, null);
+		best.offer(7, 1.0, null);
+		
+		assertEquals(2, best.index);
+		
+		best.offer(9, 0.5, omegas);
+		best.offer(3, 0.75, null);
+		
+		assertEquals(9, best.index);
+		assertEquals(0.5, best.cost, 0.0);
+		assertTrue(best.omegas == omegas);
+	}
+
+	@Test
+	public void testFeatureStatisticsPlusAndMinus()
+	{
+		FeatureMatrix.Builder examples = new FeatureMatrix.Builder();
+		Random random = new Random(11);
+		
+		for( int c = 0 ; c < 200 ; c++ )
+		{
+			// "rare" only appears in the first 20 rows, so it's absent once they are subtracted
+			Map<String,Double> features = c < 20 ? ImmutableMap.of("x", random.nextGaussian(), "rare", 3.0 + random.nextDouble()) : ImmutableMap.of("x", 5.0 * random.nextDouble(), "sparse", (double) random.nextInt(3));
+			
+			examples.addRow(c % 2 == 0 ? "even" : "odd", features);
+		}
+		
+		FeatureMatrix data = examples.build();
+		int[] all = new int[data.getRowCount()];
+		int[] held = new int[20];
+		int[] rest = new int[all.length - held.length];
+		
+		for( int c = 0 ; c < all.length ; c++ )
+		{
+			all[c] = c;
+			
+			if( c < held.length )
+			{
+				held[c] = c;
+			}
+			else
+			{
+				rest[c - held.length] = c;
+			}
+		}
+		
+		FeatureStatistics allStats = FeatureStatistics.of(data, all);
+		FeatureStatistics heldStats = FeatureStatistics.of(data, held);
+		FeatureStatistics restStats = FeatureStatistics.of(data, rest);
+		
+		FeatureStatistics minus = allStats.minus(heldStats);
+		FeatureStatistics plus = heldStats.plus(restStats);
+		
+		assertEquals(rest.length, minus.getRowCount());
+		assertEquals(all.length, plus.getRowCount());
+		
+		for( int feature = 0 ; feature < data.getFeatureCount() ; feature++ )
+		{
+			assertEquals(restStats.isPresent(feature), minus.isPresent(feature));
+			assertEquals(restStats.getMean(feature), minus.getMean(feature), 1e-9);
+			assertEquals(restStats.getStdDev(feature), minus.getStdDev(feature), 1e-9);
+			
+			assertEquals(allStats.isPresent(feature), plus.isPresent(feature));
+			assertEquals(allStats.getMean(feature), plus.getMean(feature), 1e-9);
+			assertEquals(allStats.getStdDev(feature), plus.getStdDev(feature), 1e-9);
+		}
+		
+		int rare = -1;
+		
+		for( int feature = 0 ; feature < data.getFeatureCount() ; feature++ )
+		{
+			if( "rare".equals(data.getFeature(feature)) )
+			{
+				rare = feature;
+			}
+		}
+		
+		assertTrue(allStats.isPresent(rare));
+		assertTrue(!minus.isPresent(rare));
+		assertEquals(0.0, minus.getMean(rare), 0.0);
+		assertEquals(0.0, minus.getStdDev(rare), 0.0);
+	}
+	
+	@Test
+	public void testChunkedGradientMatchesSingleChunk()
+	{
+		FeatureMatrix.Builder examples = new FeatureMatrix.Builder();
+		Random random = new Random(7);
+		
+		for( int c = 0 ; c < 9000 ; c++ )
+		{
+			examples.addRow(random.nextBoolean() ? "yes" : "no", ImmutableMap.of("x", random.nextGaussian(), "word" + random.nextInt(10), 1.0));
+		}
+		
+		FeatureMatrix data = examples.build();
+		int[] rows = new int[data.getRowCount()];
+		
+		for( int c = 0 ; c < rows.length ; c++ )
+		{
+			rows[c] = c;
+		}
+		
+		FeatureStatistics stats = FeatureStatistics.of(data, rows);
+		double[] normalised = new LogisticTrainer().normalise(data, rows, stats);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		
+		try
+		{
+			LogisticObjective single = new LogisticObjective(data, rows, normalised, 1, LogisticFunction.EXACT, null);
+			LogisticObjective chunked = new LogisticObjective(data, rows, normalised, 1, LogisticFunction.EXACT, executor, 4);
+			
+			assertEquals(1, single.getChunkCount());
+			assertEquals(4, chunked.getChunkCount());
+			
+			// Twice, so the reused partial gradients must be cleared between calls
+			for( int pass = 0 ; pass < 2 ; pass++ )
+			{
+				double[] omega = new double[data.getFeatureCount()];
+				double[] gradient = new double[omega.length];
+				double[] chunkedGradient = new double[omega.length];
+				
+				for( int c = 0 ; c < omega.length ; c++ )
+				{
+					omega[c] = random.nextGaussian();
+				}
+				
+				assertEquals(single.evaluate(omega, gradient), chunked.evaluate(omega, chunkedGradient), 1e-12);
+				
+				for( int c = 0 ; c < omega.length ; c++ )
+				{
+					assertEquals(gradient[c], chunkedGradient[c], 1e-9 * Math.max(1.0, Math.abs(gradient[c])));
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testMiniBatchTrainingMultiClass()
+	{
+		Learner learner = multiClassBuilder().withTrainer(new MiniBatchLogisticTrainer(16, 20)).build();
+		
+		testMultiClassLearner(learner);
+	}
+
+	@Test
+	public void testMiniBatchStrongRegularisation()
+	{
+		FeatureMatrix.Builder examples = new FeatureMatrix.Builder();
+		
+		examples.addRow("no", ImmutableMap.of("x", -1.0));
+		examples.addRow("yes", ImmutableMap.of("x", 1.0));
+		
+		FeatureMatrix data = examples.build();
+		int[] rows = { 0, 1 };
+		FeatureStatistics stats = FeatureStatistics.of(data, rows);
+		LogisticTrainer trainer = new MiniBatchLogisticTrainer(1, 5);
+		
+		// Steps where rate * regulariser reaches or passes the number of examples would shrink the weights to zero or
+		// past it
+		double[][] settings = { { 4.0, 0.5 }, { 8.0, 1.0 }, { 32.0, 0.1 } };
+		
+		for( double[] setting : settings )
+		{
+			double[] omega = trainer.fit(setting[0], setting[1], 1, data, rows, stats, trainer.normalise(data, rows, stats), null, LogisticFunction.EXACT, null);
+			
+			for( double weight : omega )
+			{
+				assertTrue("Weight was " + weight, !Double.isNaN(weight) && !Double.isInfinite(weight) && Math.abs(weight) < 1.0);
+			}
+		}
+	}
+
+	@Test
+	public void testLbfgsTrainingMultiClass()
+	{
+		Learner learner = multiClassBuilder().withTrainer(new LbfgsLogisticTrainer()).build();
+		
+		testMultiClassLearner(learner);
+	}
+
+	@Test
+	public void testWarmStartsBeginBelowColdCost()
+	{
+		final List<Double> coldCosts = Lists.newArrayList();
+		final List<Double> warmCosts = Lists.newArrayList();
+		
+		// Without an executor every fit runs in turn on this thread, so the fit and its optimise call pair up
+		LogisticTrainer trainer = new LogisticTrainer()
+		{
+			private boolean warm;
+			
+			@Override
+			protected double[] fit(double regulariser, double learningRate, int positiveLabel, FeatureMatrix data, int[] rows, FeatureStatistics stats, double[] normalised, double[] initialOmega, LogisticFunction function, Executor executor)
+			{
+				warm = initialOmega != null;
+				
+				return super.fit(regulariser, learningRate, positiveLabel, data, rows, stats, normalised, initialOmega, function, executor);
+			}
+			
+			@Override
+			protected double[] optimise(LogisticObjective objective, double regulariser, double learningRate, double[] omega)
+			{
+				(warm ? warmCosts : coldCosts).add(objective.evaluate(omega, new double[omega.length]));
+				
+				return super.optimise(objective, regulariser, learningRate, omega);
+			}
+		};
+		
+		testMultiClassLearner(multiClassBuilder(new Random(42)).withTrainer(trainer).build());
+		
+		// The first candidate and the cross validation folds start cold, three labels each. The other eleven candidates
+		// down the regularisation path and the final fit start from the previous weights.
+		assertEquals(3 + 10 * 3, coldCosts.size());
+		assertEquals(11 * 3 + 3, warmCosts.size());
+		
+		for( double cold : coldCosts )
+		{
+			assertEquals(Math.log(2.0), cold, 1e-12);
+		}
+		
+		for( double warm : warmCosts )
+		{
+			assertTrue("Warm start cost " + warm, warm < Math.log(2.0));
+		}
+	}
+	
+	@Test
+	public void testWarmStartTakesFewerPasses()
+	{
+		FeatureMatrix.Builder examples = new FeatureMatrix.Builder();
+		Random random = new Random(5);
+		
+		for( int c = 0 ; c < 1000 ; c++ )
+		{
+			double x = random.nextGaussian();
+			
+			examples.addRow(random.nextDouble() < 1 / (1 + Math.exp(-3.0 * x)) ? "yes" : "no", ImmutableMap.of("x", x, "word" + random.nextInt(5), 1.0));
+		}
+		
+		FeatureMatrix data = examples.build();
+		int[] rows = new int[data.getRowCount()];
+		
+		for( int c = 0 ; c < rows.length ; c++ )
+		{
+			rows[c] = c;
+		}
+		
+		FeatureStatistics stats = FeatureStatistics.of(data, rows);
+		double[] normalised = new LogisticTrainer().normalise(data, rows, stats);
+		
+		for( LogisticTrainer trainer : new LogisticTrainer[] { new LogisticTrainer(), new LbfgsLogisticTrainer() } )
+		{
+			// The previous, more strongly regularised, candidate down the path
+			double[] previous = trainer.optimise(new CountingObjective(data, rows, normalised), 2.0, 0.1, new double[data.getFeatureCount()]);
+			
+			CountingObjective cold = new CountingObjective(data, rows, normalised);
+			CountingObjective warm = new CountingObjective(data, rows, normalised);
+			
+			double[] coldOmega = trainer.optimise(cold, 1.0, 0.1, new double[data.getFeatureCount()]);
+			double[] warmOmega = trainer.optimise(warm, 1.0, 0.1, previous.clone());
+			
+			String name = trainer.getClass().getSimpleName();
+			
+			assertTrue(name + " warm start took " + warm.evaluations + " passes, cold " + cold.evaluations, warm.evaluations < cold.evaluations);
+			assertTrue(name + " warm start ended higher", warm.regularised(warmOmega, 1.0, new double[warmOmega.length]) <= cold.regularised(coldOmega, 1.0, new double[coldOmega.length]) + 1e-3);
+		}
+	}
+	
+	@Test
+	public void testLbfgsConvergesInFewerPasses()
+	{
+		// Overlapping classes, so the regularised objective has a finite minimum to converge on
+		FeatureMatrix.Builder examples = new FeatureMatrix.Builder();
+		Random random = new Random(11);
+		
+		for( int c = 0 ; c < 1000 ; c++ )
+		{
+			double x = random.nextGaussian();
+			double y = random.nextGaussian();
+			
+			examples.addRow(random.nextDouble() < 1 / (1 + Math.exp(-2.0 * x + y)) ? "yes" : "no", ImmutableMap.of("x", 3.0 + x, "y", 10.0 * y));
+		}
+		
+		FeatureMatrix data = examples.build();
+		int[] rows = new int[data.getRowCount()];
+		
+		for( int c = 0 ; c < rows.length ; c++ )
+		{
+			rows[c] = c;
+		}
+		
+		FeatureStatistics stats = FeatureStatistics.of(data, rows);
+		double[] normalised = new LogisticTrainer().normalise(data, rows, stats);
+		double regulariser = 1.0;
+		
+		CountingObjective batch = new CountingObjective(data, rows, normalised);
+		CountingObjective lbfgs = new CountingObjective(data, rows, normalised);
+		
+		double[] batchOmega = new LogisticTrainer().optimise(batch, regulariser, 0.1, new double[data.getFeatureCount()]);
+		double[] lbfgsOmega = new LbfgsLogisticTrainer().optimise(lbfgs, regulariser, 0.1, new double[data.getFeatureCount()]);
+		
+		double batchCost = batch.regularised(batchOmega, regulariser, new double[batchOmega.length]);
+		double[] gradient = new double[lbfgsOmega.length];
+		double lbfgsCost = lbfgs.regularised(lbfgsOmega, regulariser, gradient);
+		
+		// It stops at the minimum, where the gradient vanishes and running on to a far tighter tolerance gains nothing
+		for( int c = 0 ; c < gradient.length ; c++ )
+		{
+			assertEquals(0.0, gradient[c], 1e-4);
+		}
+		
+		double[] tightOmega = new LbfgsLogisticTrainer(10, 1000, 1e-12).optimise(new CountingObjective(data, rows, normalised), regulariser, 0.1, new double[data.getFeatureCount()]);
+		
+		assertEquals(lbfgs.regularised(tightOmega, regulariser, new double[tightOmega.length]), lbfgsCost, 1e-6);
+		
+		// Batch gradient descent gets no closer, in more passes over the data
+		assertTrue("L-BFGS cost " + lbfgsCost + " above batch cost " + batchCost, lbfgsCost <= batchCost);
+		assertTrue("L-BFGS took " + lbfgs.evaluations + " passes, batch " + batch.evaluations, lbfgs.evaluations < batch.evaluations);
+	}
+
+	@Test
+	public void testApproximateTrainingMultiClass()
+	{
+		Learner learner = multiClassBuilder().withLogisticFunction(LogisticFunction.APPROXIMATE).build();
+		
+		testMultiClassLearner(learner);
+	}
+
+	@Test
+	public void testSaturatedValidationRowStillPicksARegulariser()
+	{
+		for( LogisticFunction function : LogisticFunction.values() )
+		{
+			final List<Double> regularisers = Lists.newArrayList();
+
+			LogisticTrainer trainer = new LogisticTrainer()
+			{
+				@Override
+				protected double[] fit(double regulariser, double learningRate, int positiveLabel, FeatureMatrix data, int[] rows, FeatureStatistics stats, double[] normalised, double[] initialOmega, LogisticFunction function, Executor executor)
+				{
+					regularisers.add(regulariser);
+
+					return super.fit(regulariser, learningRate, positiveLabel, data, rows, stats, normalised, initialOmega, function, executor);
+				}
+			};
+
+			LearnerBuilder builder = twoClassBuilder(new Random(42)).withTrainer(trainer).withLogisticFunction(function);
+
+			// The 101st example is a validation row, mislabelled and so far out that every candidate's probability of
+			// its label is 0.0
+			builder.addExample("false", ImmutableMap.of("x", 1000.0));
+
+			builder.build();
+
+			// The final fit used one of the candidates rather than falling back to no regularisation
+			assertTrue(function + " final regulariser", regularisers.get(regularisers.size() - 1) > 0.0);
+		}
+	}
+
+	@Test
+	public void testApproximateLogisticFunctionError()
+	{
+		for( double x = -30.0 ; x <= 30.0 ; x += 0.001 )
+		{
+			assertEquals(LogisticFunction.EXACT.sigmoid(x), LogisticFunction.APPROXIMATE.sigmoid(x), 3e-6);
+			assertEquals(LogisticFunction.EXACT.softplus(x), LogisticFunction.APPROXIMATE.softplus(x), 8e-6);
+		}
+	}
+
+	@Test
+	public void testBatchClassificationMatchesSingle()
+	{
+		Learner learner = multiClassBuilder().build();
+		
 		Random random = new Random();
+		List<Map<String, Double>> batch = Lists.newArrayList();
+		
+		for( int c = 0 ; c < 2000 ; c++ )
+		{
+			batch.add(ImmutableMap.of(random.nextBoolean() ? "x" : "y", -8.0 + random.nextDouble()*16.0));
+		}
+		
+		String[] labels = learner.classifyAll(batch);
+		LabelProbabilities probabilities = learner.getLabelProbabilitiesAll(batch);
+		
+		assertEquals(batch.size(), probabilities.size());
+		
+		for( int c = 0 ; c < batch.size() ; c++ )
+		{
+			assertEquals(learner.classify(batch.get(c)), labels[c]);
+			assertEquals(learner.getLabelProbabilities(batch.get(c)), probabilities.toMap(c));
+		}
+	}
+
+	@Test
+	public void testClassifyIntoReusedProbabilities()
+	{
+		Learner learner = multiClassBuilder().build();
+		
+		double[] probabilities = new double[learner.getLabels().size()];
+		
+		for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+		{
+			Map<String,Double> features = ImmutableMap.of("x", x);
+			
+			int best = learner.classify(features, probabilities);
+			
+			assertEquals(learner.classify(features), learner.getLabels().get(best));
+			
+			for( int c = 0 ; c < probabilities.length ; c++ )
+			{
+				assertEquals(learner.getLabelProbabilities(features).get(learner.getLabels().get(c)), probabilities[c], 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testClassifyEncodedFeatures()
+	{
+		Learner learner = multiClassBuilder().build();
+		
+		for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+		{
+			Map<String,Double> features = ImmutableMap.of("x", x, "unknown", 1.0);
+			
+			FeatureVector vector = learner.encode(features);
+			
+			assertEquals(1, vector.size());
+			assertEquals(learner.classify(features), learner.classify(vector));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testEncodedFeaturesAreTiedToTheirLearner()
+	{
+		Learner learner = multiClassBuilder().build();
+		Learner other = multiClassBuilder().build();
+		
+		other.classify(learner.encode(ImmutableMap.of("x", 1.0)));
+	}
+
+	@Test
+	public void testTopKMatchesSortedProbabilities()
+	{
+		Learner learner = multiClassBuilder().build();
+		
+		for( double x = -8.0 ; x <= 8.0 ; x += 0.5 )
+		{
+			Map<String,Double> features = ImmutableMap.of("x", x);
+			Map<String,Double> probabilities = learner.getLabelProbabilities(features);
+			
+			List<ScoredLabel> top = learner.topK(features, 2);
+			
+			assertEquals(2, top.size());
+			assertEquals(learner.classify(features), top.get(0).getLabel());
+			assertTrue(top.get(0).getProbability() >= top.get(1).getProbability());
+			
+			for( String label : learner.getLabels() )
+			{
+				if( !label.equals(top.get(0).getLabel()) && !label.equals(top.get(1).getLabel()) )
+				{
+					assertTrue(probabilities.get(label) <= top.get(1).getProbability());
+				}
+			}
+		}
+		
+		assertEquals(learner.getLabels().size(), learner.topK(ImmutableMap.of("x", 1.0), 10).size());
+		assertEquals(0, learner.topK(ImmutableMap.of("x", 1.0), 0).size());
+	}
+
+	@Test
+	public void testCachingLearner()
+	{
+		Learner learner = multiClassBuilder().build();
+		CachingLearner cached = new CachingLearner(learner, 2);
+		
+		for( double x : new double[] { -6.0, -6.0, 6.0, 6.0, 0.5 } )
+		{
+			Map<String,Double> features = ImmutableMap.of("x", x);
+			
+			assertEquals(learner.classify(features), cached.classify(features));
+			assertEquals(learner.getLabelProbabilities(features), cached.getLabelProbabilities(features));
+		}
+		
+		assertEquals(3, cached.getCacheStats().missCount());
+		assertEquals(7, cached.getCacheStats().hitCount());
+		assertEquals(1, cached.getCacheStats().evictionCount());
+	}
+
+	@Test
+	public void testFeatureIndex()
+	{
+		FeatureIndex index = new FeatureIndex(0);
+		
+		for( int c = 0 ; c < 10000 ; c++ )
+		{
+			assertEquals(c, index.add("feature" + c));
+		}
+		
+		assertEquals(10000, index.size());
+		assertEquals(1234, index.add("feature1234"));
+		assertEquals(-1, index.get("unknown"));
+		
+		for( int c = 0 ; c < 10000 ; c++ )
+		{
+			assertEquals(c, index.get("feature" + c));
+			assertEquals("feature" + c, index.getFeature(c));
+		}
+	}
+
+	/**
+	 * A single chunk objective for the second label that counts the passes made over the data.
+	 */
+	private static class CountingObjective extends LogisticObjective
+	{
+		int evaluations = 0;
+		
+		CountingObjective(FeatureMatrix data, int[] rows, double[] normalised)
+		{
+			super(data, rows, normalised, 1, LogisticFunction.EXACT, null);
+		}
+		
+		@Override
+		protected double evaluate(double[] omega, double[] gradient)
+		{
+			evaluations++;
+			
+			return super.evaluate(omega, gradient);
+		}
+		
+		/**
+		 * The mean cost plus regulariser / (2 * examples) times the squared weights, which both trainers minimise,
+		 * with its gradient written into gradient.
+		 */
+		double regularised(double[] omega, double regulariser, double[] gradient)
+		{
+			double numExamples = getRowCount();
+			double cost = super.evaluate(omega, gradient);
+			
+			for( int c = 0 ; c < omega.length ; c++ )
+			{
+				cost += regulariser / (2 * numExamples) * omega[c] * omega[c];
+				gradient[c] = gradient[c] / numExamples + regulariser / numExamples * omega[c];
+			}
+			
+			return cost;
+		}
+	}
+	
+	private LearnerBuilder multiClassBuilder()
+	{
+		return multiClassBuilder(new Random());
+	}
+	
+	private LearnerBuilder multiClassBuilder(Random random)
+	{
+		LearnerBuilder builder = Learner.builder();
 		
 		for( int c = 0 ; c < 100 ; c++ )
 		{
@@ -94,17 +1001,7 @@ public class TestClassification
 			}
 		}
 		
-		Learner learner = builder.build();
-		
-		testMultiClassLearner(learner);
-		
-		// Now we check that serialisation actually works properly, again
-		
-		byte[] savedLearner = learner.serialise();
-		
-		Learner newLearner = Learner.load(savedLearner);
-		
-		testMultiClassLearner(newLearner);
+		return builder;
 	}
 
 	private void testMultiClassLearner(Learner learner)